@@ -0,0 +1,37 @@
+package com.example.foodorder;
+
+import android.os.Bundle;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Assume;
+
+/**
+ * Helpers for the timing tests. They are skipped unless the run is started with
+ * {@code -Pandroid.testInstrumentationRunnerArguments.benchmark=true}, so the normal
+ * connected test run stays fast and deterministic.
+ */
+public final class Benchmarks {
+    public static final String TAG = "FoodOrderBenchmark";
+
+    private Benchmarks() {
+    }
+
+    public static void assumeEnabled() {
+        Bundle arguments = InstrumentationRegistry.getArguments();
+        Assume.assumeTrue("benchmarks are opt-in",
+                Boolean.parseBoolean(arguments.getString("benchmark")));
+    }
+
+    /** Average wall time of one call in microseconds, after a short warm-up. */
+    public static double microsPerCall(int iterations, Runnable call) {
+        for (int i = 0; i < Math.max(1, iterations / 10); i++) {
+            call.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            call.run();
+        }
+        return (System.nanoTime() - start) / 1000.0 / iterations;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.foodorder.dao;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.CartItem;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class CartItemDaoTest {
+    private AppDatabase database;
+    private CartItemDao cartItemDao;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        cartItemDao = database.cartItemDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void addToCartCreatesTheRow() {
+        cartItemDao.addToCart(1, 3, "Iced Coffee", 3.99, "", 2);
+
+        CartItem item = cartItemDao.getCartItem(1, 3);
+        assertEquals("Iced Coffee", item.getFoodName());
+        assertEquals(2, item.getQuantity());
+    }
+
+    @Test
+    public void addToCartAddsToTheExistingRow() {
+        cartItemDao.addToCart(1, 3, "Iced Coffee", 3.99, "", 2);
+        int id = cartItemDao.getCartItem(1, 3).getId();
+
+        cartItemDao.addToCart(1, 3, "Iced Coffee", 3.99, "", 1);
+
+        List<CartItem> items = cartItemDao.getCartItemsByUserIdSync(1);
+        assertEquals(1, items.size());
+        // The row keeps its id, so a screen holding it can still update its quantity
+        assertEquals(id, items.get(0).getId());
+        assertEquals(3, items.get(0).getQuantity());
+    }
+
+    @Test
+    public void addToCartKeepsOtherUsersAndFoodsApart() {
+        cartItemDao.addToCart(1, 3, "Iced Coffee", 3.99, "", 1);
+        cartItemDao.addToCart(1, 5, "Tomato Soup", 4.5, "", 1);
+        cartItemDao.addToCart(2, 3, "Iced Coffee", 3.99, "", 4);
+
+        assertEquals(2, cartItemDao.getCartItemsByUserIdSync(1).size());
+        assertEquals(1, cartItemDao.getCartItem(1, 3).getQuantity());
+        assertEquals(4, cartItemDao.getCartItem(2, 3).getQuantity());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.foodorder.dao;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.Benchmarks;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.Food;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Bytes allocated on the Java heap to read the food list as full {@link Food} entities,
+ * as list screens did before, and as {@link com.example.foodorder.model.FoodSummary} rows.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FoodSummaryAllocationBenchmarkTest {
+    private static final int FOODS = 900;
+    private static final int ROUNDS = 20;
+
+    private AppDatabase database;
+    private FoodDao foodDao;
+    private final List<Integer> foodIds = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        // art.gc.bytes-allocated is only exposed from API 23
+        Assume.assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.M);
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        foodDao = database.foodDao();
+        List<Food> foods = new ArrayList<>(FOODS);
+        for (int i = 0; i < FOODS; i++) {
+            Food food = new Food("Margherita Pizza " + i,
+                    "Classic Italian pizza with fresh mozzarella, tomatoes, and basil", 12.99,
+                    "https://example.com/images/margherita.png", "Pizza",
+                    "Pizza dough, Tomato sauce, Fresh mozzarella, Basil, Olive oil");
+            food.setImagePath(food.getImageUrl());
+            foods.add(food);
+        }
+        for (Long id : foodDao.insertAll(foods)) {
+            foodIds.add(id.intValue());
+        }
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    public void summariesAllocateLessThanEntities() {
+        long entities = bytesAllocated(() -> foodDao.getAllFoodsSync());
+        long summaries = bytesAllocated(() -> foodDao.getFoodSummariesByIds(foodIds));
+        Log.i(Benchmarks.TAG, String.format("%d foods: %d bytes as Food, %d bytes as FoodSummary",
+                FOODS, entities, summaries));
+        assertTrue(summaries < entities);
+    }
+
+    private static long bytesAllocated(Runnable read) {
+        read.run();
+        long before = Long.parseLong(Debug.getRuntimeStat("art.gc.bytes-allocated"));
+        for (int i = 0; i < ROUNDS; i++) {
+            read.run();
+        }
+        return (Long.parseLong(Debug.getRuntimeStat("art.gc.bytes-allocated")) - before) / ROUNDS;
+    }
+}
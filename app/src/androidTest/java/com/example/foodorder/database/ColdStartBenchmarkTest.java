@@ -0,0 +1,96 @@
+package com.example.foodorder.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.Benchmarks;
+import com.example.foodorder.model.Food;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * First launch with no database on disk: opening the prepackaged asset, against creating
+ * an empty database and seeding it by parsing database.json, up to the first menu query.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ColdStartBenchmarkTest {
+    private static final String TEST_DB = "cold-start-benchmark";
+    private static final int ROUNDS = 10;
+
+    private Context context;
+    private int catalogSize;
+
+    @Before
+    public void setUp() throws IOException, JSONException {
+        Benchmarks.assumeEnabled();
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        catalogSize = PrepackagedDatabaseTest.readCatalogFoods(context).length();
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) {
+            context.deleteDatabase(TEST_DB);
+        }
+    }
+
+    @Test
+    public void prepackagedVersusSeeded() {
+        double prepackaged = Benchmarks.microsPerCall(ROUNDS, () -> firstLaunch(true));
+        double seeded = Benchmarks.microsPerCall(ROUNDS, () -> firstLaunch(false));
+        Log.i(Benchmarks.TAG, String.format("First launch to menu: prepackaged %.1f ms, seeded from JSON %.1f ms",
+                prepackaged / 1000, seeded / 1000));
+    }
+
+    private void firstLaunch(boolean prepackaged) {
+        context.deleteDatabase(TEST_DB);
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(context, AppDatabase.class, TEST_DB);
+        if (prepackaged) {
+            builder.createFromAsset(AppDatabase.PREPACKAGED_DATABASE);
+        }
+        AppDatabase database = builder.build();
+        try {
+            if (!prepackaged) {
+                database.foodDao().insertAll(parseFoods());
+            }
+            assertEquals(catalogSize, database.foodDao().getAllFoodsSync().size());
+        } catch (IOException | JSONException e) {
+            throw new AssertionError(e);
+        } finally {
+            database.close();
+        }
+    }
+
+    private List<Food> parseFoods() throws IOException, JSONException {
+        JSONArray json = PrepackagedDatabaseTest.readCatalogFoods(context);
+        List<Food> foods = new ArrayList<>(json.length());
+        for (int i = 0; i < json.length(); i++) {
+            JSONObject item = json.getJSONObject(i);
+            Food food = new Food(item.getString("Name"), item.getString("Description"), item.getDouble("Price"),
+                    item.optString("ImagePath"), "Other", item.getString("Ingredients"));
+            food.setCategoryId(item.getInt("CategoryId"));
+            food.setStar(item.getDouble("Star"));
+            food.setImagePath(item.optString("ImagePath"));
+            food.setAvailable(item.getBoolean("IsAvailable"));
+            foods.add(food);
+        }
+        return foods;
+    }
+}
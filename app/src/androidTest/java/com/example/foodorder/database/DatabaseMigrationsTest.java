@@ -0,0 +1,327 @@
+package com.example.foodorder.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.utils.FoodImageStore;
+
+import org.json.JSONException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs each step of {@link DatabaseMigrations} against a database created from the
+ * exported schema of the previous version, and validates the result against the
+ * exported schema of the next one.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseMigrationsTest {
+    private static final String TEST_DB = "migration-test";
+    // Food columns the tests fill in; every schema from version 3 on has them
+    private static final String FOOD_COLUMNS_V3 = "id, name, description, price, category, ingredients, "
+            + "isAvailable, averageRating, reviewCount, categoryId, priceId, timeId, timeValue, locationId, star, bestFood";
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @Test
+    public void migrate3To4KeepsRowsAndIndexesLookups() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 3);
+        db.execSQL("INSERT INTO cart_items (userId, foodId, foodName, foodPrice, foodImageUrl, quantity) "
+                + "VALUES (1, 2, 'Pizza', 9.5, '', 1)");
+        db.execSQL("INSERT INTO orders (userId, orderItems, totalAmount, deliveryAddress, paymentMethod, status, timestamp) "
+                + "VALUES (1, '[]', 9.5, 'Street 1', 'Cash', 'Pending', 1000)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 4, true, DatabaseMigrations.MIGRATION_3_4);
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM cart_items"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM orders"));
+        assertUsesIndex(db, "SELECT * FROM cart_items WHERE userId = 1 AND foodId = 2",
+                "index_cart_items_userId_foodId");
+        assertUsesIndex(db, "SELECT * FROM orders WHERE userId = 1 ORDER BY timestamp DESC",
+                "index_orders_userId_timestamp");
+        assertUsesIndex(db, "SELECT * FROM reviews WHERE foodId = 2 ORDER BY timestamp DESC",
+                "index_reviews_foodId_timestamp");
+        assertUsesIndex(db, "SELECT * FROM messages WHERE userId = 1 ORDER BY timestamp ASC",
+                "index_messages_userId_timestamp");
+        db.close();
+    }
+
+    @Test
+    public void migrate4To5IndexesExistingAndNewFoods() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 4);
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (1, 'Margherita Pizza', 'Tomato and basil', "
+                + "8, 'Pizza', 'Cheese', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 5, true, DatabaseMigrations.MIGRATION_4_5);
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods_fts WHERE foods_fts MATCH 'marg*'"));
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (2, 'Chicken Burger', 'Grilled', "
+                + "6, 'Burger', 'Chicken', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("UPDATE foods SET name = 'Basil Pizza' WHERE id = 1");
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods_fts WHERE foods_fts MATCH 'burger'"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM foods_fts WHERE foods_fts MATCH 'name:marg*'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods_fts WHERE foods_fts MATCH 'name:basil'"));
+        db.close();
+    }
+
+    @Test
+    public void migrate5To6MovesImageBlobsToTheStore() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 5);
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ", imageData) VALUES (1, 'Margherita Pizza', "
+                + "'Tomato and basil', 8, 'Pizza', 'Cheese', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, X'89504E47')");
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (2, 'Chicken Burger', 'Grilled', "
+                + "6, 'Burger', 'Chicken', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("INSERT INTO foods_fts(foods_fts) VALUES ('rebuild')");
+        db.close();
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = helper.runMigrationsAndValidate(TEST_DB, 6, true, DatabaseMigrations.migration5To6(context));
+
+        String imageRef;
+        try (Cursor cursor = db.query("SELECT imageRef FROM foods WHERE id = 1")) {
+            assertTrue(cursor.moveToFirst());
+            imageRef = cursor.getString(0);
+        }
+        assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G'}, new FoodImageStore(context).get(imageRef));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods WHERE id = 2 AND imageRef IS NULL"));
+        // The rebuilt table keeps its ids, so the full-text index still points at the right rows
+        assertEquals(2, count(db, "SELECT docid FROM foods_fts WHERE foods_fts MATCH 'burger'"));
+        db.execSQL("UPDATE foods SET name = 'Basil Pizza' WHERE id = 1");
+        assertEquals(1, count(db, "SELECT docid FROM foods_fts WHERE foods_fts MATCH 'name:basil'"));
+        db.close();
+    }
+
+    @Test
+    public void migrate6To7BackfillsRatingAggregates() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 6);
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (1, 'Margherita Pizza', 'Tomato and basil', "
+                + "8, 'Pizza', 'Cheese', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (2, 'Chicken Burger', 'Grilled', "
+                + "6, 'Burger', 'Chicken', 1, 3.5, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("INSERT INTO reviews (userId, foodId, reviewerName, rating, reviewText, timestamp) "
+                + "VALUES (1, 1, 'Ann', 4, 'Good', 1000), (2, 1, 'Bob', 5, 'Great', 2000)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 7, true, DatabaseMigrations.MIGRATION_6_7);
+
+        try (Cursor cursor = db.query("SELECT ratingSum, reviewCount, averageRating FROM foods ORDER BY id")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(9.0, cursor.getDouble(0), 0.0001);
+            assertEquals(2, cursor.getInt(1));
+            assertEquals(4.5, cursor.getDouble(2), 0.0001);
+            // Foods without reviews keep their values and start from a zero sum
+            assertTrue(cursor.moveToNext());
+            assertEquals(0.0, cursor.getDouble(0), 0.0001);
+            assertEquals(0, cursor.getInt(1));
+            assertEquals(3.5, cursor.getDouble(2), 0.0001);
+        }
+        db.close();
+    }
+
+    @Test
+    public void migrate7To8DecodesOrderItemsJson() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 7);
+        db.execSQL("INSERT INTO orders (id, userId, orderItems, totalAmount, status, timestamp) VALUES "
+                + "(1, 1, '[{\"foodId\":3,\"foodName\":\"Iced Coffee\",\"price\":3.99,\"quantity\":2},"
+                + "{\"foodId\":5,\"price\":9.99,\"quantity\":1}]', 20, 'Pending', 1000), "
+                + "(2, 1, 'not json', 5, 'Pending', 2000), "
+                + "(3, 1, NULL, 5, 'Pending', 3000)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 8, true, DatabaseMigrations.MIGRATION_7_8);
+
+        try (Cursor cursor = db.query("SELECT orderId, foodId, foodName, price, quantity FROM order_items ORDER BY id")) {
+            assertTrue(cursor.moveToNext());
+            assertEquals(1, cursor.getInt(0));
+            assertEquals(3, cursor.getInt(1));
+            assertEquals("Iced Coffee", cursor.getString(2));
+            assertEquals(3.99, cursor.getDouble(3), 0.0001);
+            assertEquals(2, cursor.getInt(4));
+            assertTrue(cursor.moveToNext());
+            assertEquals(5, cursor.getInt(1));
+            assertEquals("", cursor.getString(2));
+            // Unreadable and empty JSON leave their orders without lines
+            assertFalse(cursor.moveToNext());
+        }
+        assertEquals(3, count(db, "SELECT COUNT(*) FROM orders"));
+        assertUsesIndex(db, "SELECT * FROM orders WHERE timestamp BETWEEN 0 AND 5000", "index_orders_timestamp");
+        db.close();
+    }
+
+    @Test
+    public void migrate8To9MergesDuplicateCartRows() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 8);
+        db.execSQL("INSERT INTO cart_items (id, userId, foodId, foodName, foodPrice, foodImageUrl, quantity) VALUES "
+                + "(1, 1, 3, 'Iced Coffee', 3.99, '', 2), "
+                + "(2, 1, 5, 'Tomato Soup', 4.5, '', 1), "
+                + "(3, 1, 3, 'Iced Coffee', 3.99, '', 1), "
+                + "(4, 2, 3, 'Iced Coffee', 3.99, '', 4), "
+                + "(5, 1, 3, 'Iced Coffee', 3.99, '', 3)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 9, true, DatabaseMigrations.MIGRATION_8_9);
+
+        // Duplicates fold into the oldest row; other users' rows for the same food are left alone
+        try (Cursor cursor = db.query("SELECT id, userId, foodId, quantity FROM cart_items ORDER BY id")) {
+            assertTrue(cursor.moveToNext());
+            assertArrayEquals(new int[]{1, 1, 3, 6}, cartRow(cursor));
+            assertTrue(cursor.moveToNext());
+            assertArrayEquals(new int[]{2, 1, 5, 1}, cartRow(cursor));
+            assertTrue(cursor.moveToNext());
+            assertArrayEquals(new int[]{4, 2, 3, 4}, cartRow(cursor));
+            assertFalse(cursor.moveToNext());
+        }
+        try {
+            db.execSQL("INSERT INTO cart_items (userId, foodId, foodName, foodPrice, foodImageUrl, quantity) "
+                    + "VALUES (1, 3, 'Iced Coffee', 3.99, '', 1)");
+            fail("index_cart_items_userId_foodId should be unique");
+        } catch (SQLiteConstraintException expected) {
+            // The unique index rejects a second row for the same user and food
+        }
+        db.close();
+    }
+
+    @Test
+    public void migrate9To10DedupesUsersAndMovesTheLogin() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 9);
+        db.execSQL("INSERT INTO users (id, username, email, password, isLoggedIn) VALUES "
+                + "(1, 'ann', 'ann@example.com', 'a', 1), "
+                + "(2, 'ann', 'bob@example.com', 'b', 1), "
+                + "(3, 'cat', 'ann@example.com', 'c', 0), "
+                + "(4, NULL, NULL, 'd', 0), "
+                + "(5, NULL, NULL, 'e', 0)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 10, true, DatabaseMigrations.MIGRATION_9_10);
+
+        // The oldest account keeps its name and email; later duplicates get "#<id>", missing values stay missing
+        try (Cursor cursor = db.query("SELECT id, username, email FROM users ORDER BY id")) {
+            assertUser(cursor, 1, "ann", "ann@example.com");
+            assertUser(cursor, 2, "ann#2", "bob@example.com");
+            assertUser(cursor, 3, "cat", "ann@example.com#3");
+            assertUser(cursor, 4, null, null);
+            assertUser(cursor, 5, null, null);
+            assertFalse(cursor.moveToNext());
+        }
+        // Of several users flagged as logged in, the newest one keeps the session
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM sessions"));
+        assertEquals(2, count(db, "SELECT userId FROM sessions"));
+        db.close();
+    }
+
+    @Test
+    public void migrate9To10WithoutALoginLeavesNoSession() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 9);
+        db.execSQL("INSERT INTO users (id, username, email, password, isLoggedIn) "
+                + "VALUES (1, 'ann', 'ann@example.com', 'a', 0)");
+        db.close();
+
+        db = helper.runMigrationsAndValidate(TEST_DB, 10, true, DatabaseMigrations.MIGRATION_9_10);
+
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM users"));
+        assertEquals(0, count(db, "SELECT COUNT(*) FROM sessions"));
+        db.close();
+    }
+
+    @Test
+    public void migrate10To11SyncsTheCatalog()throws IOException, JSONException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 10);
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (7, 'margherita pizza', 'Old text', "
+                + "5, 'Pizza', 'Cheese', 1, 4, 3, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (8, 'Sample Soup', 'Hot', "
+                + "3, 'Soup', 'Water', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.close();
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        int catalogSize = PrepackagedDatabaseTest.readCatalogFoods(context).length();
+        db = helper.runMigrationsAndValidate(TEST_DB, 11, true, DatabaseMigrations.migration10To11(context));
+
+        // The matching row keeps its id and reviews, so carts and orders still point at it
+        try (Cursor cursor = db.query("SELECT name, description, reviewCount FROM foods WHERE id = 7")) {
+            assertTrue(cursor.moveToFirst());
+            assertEquals("Margherita Pizza", cursor.getString(0));
+            assertFalse("Old text".equals(cursor.getString(1)));
+            assertEquals(3, cursor.getInt(2));
+        }
+        assertEquals(catalogSize + 1, count(db, "SELECT COUNT(*) FROM foods"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods WHERE id = 8 AND category = 'More'"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM foods_fts WHERE foods_fts MATCH 'name:margherita'"));
+        db.close();
+    }
+
+    @Test
+    public void migrate3To11KeepsUserData() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, 3);
+        db.execSQL("INSERT INTO users (id, username, email, password, isLoggedIn) "
+                + "VALUES (1, 'ann', 'ann@example.com', 'secret', 1)");
+        db.execSQL("INSERT INTO foods (" + FOOD_COLUMNS_V3 + ") VALUES (1, 'Margherita Pizza', 'Tomato and basil', "
+                + "8, 'Pizza', 'Cheese', 1, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+        db.execSQL("INSERT INTO cart_items (userId, foodId, foodName, foodPrice, foodImageUrl, quantity) "
+                + "VALUES (1, 1, 'Margherita Pizza', 8, '', 2)");
+        db.execSQL("INSERT INTO orders (id, userId, orderItems, totalAmount, status, timestamp) VALUES (1, 1, "
+                + "'[{\"foodId\":1,\"foodName\":\"Margherita Pizza\",\"price\":8,\"quantity\":1}]', "
+                + "8, 'Delivered', 1000)");
+        db.execSQL("INSERT INTO reviews (userId, foodId, reviewerName, rating, reviewText, timestamp) "
+                + "VALUES (1, 1, 'ann', 4, 'Good', 1000)");
+        db.close();
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = helper.runMigrationsAndValidate(TEST_DB, 11, true, DatabaseMigrations.all(context));
+
+        assertEquals(1, count(db, "SELECT userId FROM sessions"));
+        assertEquals(2, count(db, "SELECT quantity FROM cart_items WHERE userId = 1 AND foodId = 1"));
+        assertEquals(1, count(db, "SELECT COUNT(*) FROM order_items WHERE orderId = 1 AND foodId = 1"));
+        assertEquals(1, count(db, "SELECT reviewCount FROM foods WHERE id = 1"));
+        assertEquals(1, count(db, "SELECT docid FROM foods_fts WHERE foods_fts MATCH 'name:margherita'"));
+        db.close();
+    }
+
+    private static int[] cartRow(Cursor cursor) {
+        return new int[]{cursor.getInt(0), cursor.getInt(1), cursor.getInt(2), cursor.getInt(3)};
+    }
+
+    private static void assertUser(Cursor cursor, int id, String username, String email) {
+        assertTrue(cursor.moveToNext());
+        assertEquals(id, cursor.getInt(0));
+        assertEquals(username, cursor.getString(1));
+        assertEquals(email, cursor.getString(2));
+    }
+
+    static long count(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    private static void assertUsesIndex(SupportSQLiteDatabase db, String sql, String index) {
+        StringBuilder plan = new StringBuilder();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                plan.append(cursor.getString(detail)).append('\n');
+            }
+        }
+        assertTrue(sql + " should use " + index + " but plan was:\n" + plan,
+                plan.indexOf(index) >= 0);
+    }
+}
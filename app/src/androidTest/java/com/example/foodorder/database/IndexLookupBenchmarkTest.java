@@ -0,0 +1,110 @@
+package com.example.foodorder.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.Benchmarks;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Times the per-user lookups behind the cart, order history and review screens on
+ * 100k rows per table, with the version 4 indexes and again after dropping them.
+ */
+@RunWith(AndroidJUnit4.class)
+public class IndexLookupBenchmarkTest {
+    private static final int ROWS = 100_000;
+    private static final int USERS = 1_000;
+    private static final int FOODS = ROWS / USERS;
+    private static final int ITERATIONS = 200;
+
+    private AppDatabase database;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        populate(database.getOpenHelper().getWritableDatabase());
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    public void indexedLookupsBeatTableScans() {
+        double[] indexed = timeLookups();
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        db.execSQL("DROP INDEX index_cart_items_userId_foodId");
+        db.execSQL("DROP INDEX index_orders_userId_timestamp");
+        db.execSQL("DROP INDEX index_orders_userId_status_timestamp");
+        db.execSQL("DROP INDEX index_reviews_userId_foodId");
+        double[] scanned = timeLookups();
+
+        String[] names = {"getCartItem", "getOrdersSync", "getUserReviewForFood"};
+        for (int i = 0; i < names.length; i++) {
+            Log.i(Benchmarks.TAG, String.format("%s: %.0f us without indexes, %.0f us with",
+                    names[i], scanned[i], indexed[i]));
+            assertTrue(names[i] + " should be faster with its index", indexed[i] < scanned[i]);
+        }
+    }
+
+    private double[] timeLookups() {
+        Random random = new Random(1);
+        return new double[] {
+                Benchmarks.microsPerCall(ITERATIONS, () -> database.cartItemDao()
+                        .getCartItem(random.nextInt(USERS), random.nextInt(FOODS))),
+                Benchmarks.microsPerCall(ITERATIONS, () -> database.orderDao()
+                        .getOrdersSync(random.nextInt(USERS))),
+                Benchmarks.microsPerCall(ITERATIONS, () -> database.reviewDao()
+                        .getUserReviewForFood(random.nextInt(USERS), random.nextInt(FOODS)))
+        };
+    }
+
+    private static void populate(SupportSQLiteDatabase db) {
+        Random random = new Random(1);
+        db.beginTransaction();
+        try {
+            SupportSQLiteStatement cart = db.compileStatement("INSERT INTO cart_items "
+                    + "(userId, foodId, foodName, foodPrice, foodImageUrl, quantity) VALUES (?, ?, 'Food', 1, '', 1)");
+            SupportSQLiteStatement order = db.compileStatement("INSERT INTO orders "
+                    + "(userId, totalAmount, deliveryAddress, paymentMethod, status, timestamp) "
+                    + "VALUES (?, 1, 'Street 1', 'Cash', 'Pending', ?)");
+            SupportSQLiteStatement review = db.compileStatement("INSERT INTO reviews "
+                    + "(userId, foodId, reviewerName, rating, reviewText, timestamp) VALUES (?, ?, 'Reviewer', 4, 'Good', ?)");
+            for (int i = 0; i < ROWS; i++) {
+                cart.bindLong(1, i % USERS);
+                cart.bindLong(2, i / USERS);
+                cart.executeInsert();
+                order.bindLong(1, i % USERS);
+                order.bindLong(2, random.nextInt(1_000_000_000));
+                order.executeInsert();
+                review.bindLong(1, i % USERS);
+                review.bindLong(2, i / USERS);
+                review.bindLong(3, i);
+                review.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+}
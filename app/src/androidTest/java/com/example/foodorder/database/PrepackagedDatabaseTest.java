@@ -0,0 +1,70 @@
+package com.example.foodorder.database;
+
+import android.content.Context;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Opens the generated asset the way the app does. Room validates it against the
+ * entities on first open, so a stale schema in the asset fails here.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PrepackagedDatabaseTest {
+    private static final String TEST_DB = "prepackaged-test";
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void assetMatchesEntitiesAndHoldsTheCatalog() throws IOException, JSONException {
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .createFromAsset(AppDatabase.PREPACKAGED_DATABASE)
+                .build();
+        try {
+            assertEquals(readCatalogFoods(context).length(), database.foodDao().getAllFoodsSync().size());
+            assertFalse(database.foodDao().getFtsMatches("\"pizza*\"").isEmpty());
+        } finally {
+            database.close();
+        }
+    }
+
+    static JSONArray readCatalogFoods(Context context) throws IOException, JSONException {
+        try (InputStream input = context.getAssets().open("database.json")) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                output.write(buffer, 0, read);
+            }
+            return new JSONObject(new String(output.toByteArray(), StandardCharsets.UTF_8)).getJSONArray("Foods");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.foodorder.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.room.RoomDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.Benchmarks;
+import com.example.foodorder.model.Food;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Latency of Room transactions that read, such as paging initial loads, submitted while
+ * a batch of writes is queued on the writer thread: with the writer thread as Room's
+ * transaction executor, as before, and with Room's default lane on the read pool.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReadLatencyBenchmarkTest {
+    private static final String TEST_DB = "read-latency-benchmark";
+    private static final int FOODS = 2_000;
+    private static final int WRITES = 100;
+    private static final int ROWS_PER_WRITE = 20;
+    private static final int READS = 20;
+
+    private Context context;
+    private ExecutorService readPool;
+    private ExecutorService writer;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        readPool = Executors.newFixedThreadPool(4);
+        writer = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) {
+            readPool.shutdownNow();
+            writer.shutdownNow();
+            context.deleteDatabase(TEST_DB);
+        }
+    }
+
+    @Test
+    public void transactionsOffTheWriterThreadDoNotWaitForWrites() throws InterruptedException {
+        double shared = averageReadLatencyMs(true);
+        double separate = averageReadLatencyMs(false);
+        Log.i(Benchmarks.TAG, String.format("Read transaction behind %d queued writes: "
+                + "%.1f ms on the writer thread, %.1f ms on the read pool", WRITES, shared, separate));
+        assertTrue(separate < shared);
+    }
+
+    private double averageReadLatencyMs(boolean transactionsOnWriter) throws InterruptedException {
+        context.deleteDatabase(TEST_DB);
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .setJournalMode(RoomDatabase.JournalMode.WRITE_AHEAD_LOGGING)
+                .setQueryExecutor(readPool);
+        if (transactionsOnWriter) {
+            builder.setTransactionExecutor(writer);
+        }
+        AppDatabase database = builder.build();
+        try {
+            database.foodDao().insertAll(foods(FOODS));
+            List<Integer> firstPage = new ArrayList<>();
+            for (int id = 1; id <= 20; id++) {
+                firstPage.add(id);
+            }
+
+            CountDownLatch writesDone = new CountDownLatch(WRITES);
+            for (int i = 0; i < WRITES; i++) {
+                writer.execute(() -> {
+                    database.foodDao().insertAll(foods(ROWS_PER_WRITE));
+                    writesDone.countDown();
+                });
+            }
+            CountDownLatch readsDone = new CountDownLatch(READS);
+            AtomicLong totalLatency = new AtomicLong();
+            for (int i = 0; i < READS; i++) {
+                long submitted = System.nanoTime();
+                database.getTransactionExecutor().execute(() -> {
+                    database.runInTransaction(() -> database.foodDao().getFoodSummariesByIds(firstPage));
+                    totalLatency.addAndGet(System.nanoTime() - submitted);
+                    readsDone.countDown();
+                });
+            }
+            assertTrue(readsDone.await(2, TimeUnit.MINUTES));
+            assertTrue(writesDone.await(2, TimeUnit.MINUTES));
+            return totalLatency.get() / 1e6 / READS;
+        } finally {
+            database.close();
+        }
+    }
+
+    private static List<Food> foods(int count) {
+        List<Food> foods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            foods.add(new Food("Food " + i, "Description " + i, 9.99, "", "Pizza", "Dough, Tomato"));
+        }
+        return foods;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.foodorder.repository;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.Benchmarks;
+import com.example.foodorder.dao.FoodDao;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.FoodSummary;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Times the first page of a full-text search over 50k foods: BM25F ranking of every hit
+ * through matchinfo, against the earlier query that only sorted name hits first.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FoodSearchBenchmarkTest {
+    private static final int FOODS = 50_000;
+    private static final int PAGE = 60;
+    private static final int ITERATIONS = 20;
+    private static final String[] WORDS = {"pizza", "margherita", "chicken", "burger", "salad", "spicy",
+            "cheese", "beef", "noodle", "rice", "soup", "curry", "garlic", "tomato", "basil", "fried",
+            "grilled", "sweet", "sour", "pepper"};
+    private static final String[] CATEGORIES = {"Pizza", "Burger", "Salad", "Noodles", "Rice", "Soup"};
+    private static final String[] QUERIES = {"\"pizza*\"", "\"spicy*\" \"chick*\"", "\"margherita*\" \"basil*\""};
+    private static final String NAME_FIRST_QUERY = "SELECT foods.id, foods.name, foods.description, "
+            + "foods.price, foods.averageRating FROM foods JOIN foods_fts ON foods.id = foods_fts.docid "
+            + "WHERE foods_fts MATCH ? "
+            + "ORDER BY (foods.id IN (SELECT docid FROM foods_fts WHERE foods_fts.name MATCH ?)) DESC, "
+            + "foods.name ASC LIMIT " + PAGE;
+
+    private AppDatabase database;
+    private FoodDao foodDao;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        foodDao = database.foodDao();
+        populate(database.getOpenHelper().getWritableDatabase());
+    }
+
+    @After
+    public void tearDown() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    public void rankedFirstPage() {
+        for (String query : QUERIES) {
+            double nameFirst = Benchmarks.microsPerCall(ITERATIONS, () -> {
+                try (Cursor cursor = database.query(new SimpleSQLiteQuery(NAME_FIRST_QUERY,
+                        new Object[] {query, query}))) {
+                    while (cursor.moveToNext()) {
+                        cursor.getInt(0);
+                    }
+                }
+            });
+            double ranked = Benchmarks.microsPerCall(ITERATIONS, () -> firstRankedPage(query));
+            Log.i(Benchmarks.TAG, String.format("%s: name-first %.1f ms, BM25F %.1f ms",
+                    query, nameFirst / 1000, ranked / 1000));
+            assertEquals(PAGE, firstRankedPage(query).size());
+        }
+    }
+
+    private List<FoodSummary> firstRankedPage(String query) {
+        int[] ids = FoodSearchRanker.rank(foodDao.getFtsMatches(query));
+        List<Integer> page = new ArrayList<>(PAGE);
+        for (int i = 0; i < Math.min(PAGE, ids.length); i++) {
+            page.add(ids[i]);
+        }
+        return foodDao.getFoodSummariesByIds(page);
+    }
+
+    private static void populate(SupportSQLiteDatabase db) {
+        Random random = new Random(1);
+        db.beginTransaction();
+        try {
+            SupportSQLiteStatement insert = db.compileStatement("INSERT INTO foods (name, description, price, "
+                    + "ingredients, category, isAvailable, averageRating, reviewCount, categoryId, priceId, "
+                    + "timeId, timeValue, locationId, star, bestFood, ratingSum) "
+                    + "VALUES (?, ?, 1, ?, ?, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)");
+            for (int i = 0; i < FOODS; i++) {
+                insert.bindString(1, words(random, 2) + " " + i);
+                insert.bindString(2, words(random, 10));
+                insert.bindString(3, words(random, 6));
+                insert.bindString(4, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
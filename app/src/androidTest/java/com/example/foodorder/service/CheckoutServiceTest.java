@@ -0,0 +1,122 @@
+package com.example.foodorder.service;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.Order;
+import com.example.foodorder.utils.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class CheckoutServiceTest {
+    private static final int USER_ID = 1;
+
+    private AppDatabase database;
+    private CheckoutService checkoutService;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        checkoutService = new CheckoutService(database, AppExecutors.getInstance());
+        database.cartItemDao().addToCart(USER_ID, 3, "Iced Coffee", 3.99, "", 2);
+        database.cartItemDao().addToCart(USER_ID, 5, "Tomato Soup", 4.5, "", 1);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void placeOrderWritesTheOrderAndClearsTheCart() throws InterruptedException {
+        Result result = placeOrder();
+
+        assertNull(result.failure);
+        List<Order> orders = database.orderDao().getOrdersSync(USER_ID);
+        assertEquals(1, orders.size());
+        assertEquals(result.orderId, orders.get(0).getId());
+        double expectedTotal = CheckoutService.calculateTotal(3.99 * 2 + 4.5);
+        assertEquals(expectedTotal, result.totalAmount, 0.0001);
+        assertEquals(expectedTotal, orders.get(0).getTotalAmount(), 0.0001);
+        assertEquals(2, count("SELECT COUNT(*) FROM order_items WHERE orderId = " + result.orderId));
+        assertEquals(3, count("SELECT SUM(quantity) FROM order_items WHERE orderId = " + result.orderId));
+        assertTrue(database.cartItemDao().getCartItemsByUserIdSync(USER_ID).isEmpty());
+    }
+
+    @Test
+    public void failedCartClearRollsBackTheOrder() throws InterruptedException {
+        database.getOpenHelper().getWritableDatabase().execSQL("CREATE TRIGGER fail_clear_cart "
+                + "BEFORE DELETE ON cart_items BEGIN SELECT RAISE(ABORT, 'cart_items rejected'); END");
+
+        Result result = placeOrder();
+
+        assertEquals("Could not place the order", result.failure);
+        // The order and its items were written before the cart failed to clear, and must not survive
+        assertEquals(0, count("SELECT COUNT(*) FROM orders"));
+        assertEquals(0, count("SELECT COUNT(*) FROM order_items"));
+        assertEquals(2, database.cartItemDao().getCartItemsByUserIdSync(USER_ID).size());
+    }
+
+    @Test
+    public void emptyCartPlacesNoOrder() throws InterruptedException {
+        database.cartItemDao().clearCart(USER_ID);
+
+        Result result = placeOrder();
+
+        assertEquals("Your cart is empty", result.failure);
+        assertEquals(0, count("SELECT COUNT(*) FROM orders"));
+    }
+
+    private Result placeOrder() throws InterruptedException {
+        Result result = new Result();
+        CountDownLatch done = new CountDownLatch(1);
+        checkoutService.placeOrder(USER_ID, "Street 1", "Cash", new CheckoutService.OnCheckoutListener() {
+            @Override
+            public void onOrderPlaced(long orderId, double totalAmount) {
+                result.orderId = orderId;
+                result.totalAmount = totalAmount;
+                done.countDown();
+            }
+
+            @Override
+            public void onCheckoutFailed(String message) {
+                result.failure = message;
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        return result;
+    }
+
+    private long count(String sql) {
+        try (Cursor cursor = database.query(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getLong(0);
+        }
+    }
+
+    // Written on the writer thread before the latch is released, read after await
+    private static final class Result {
+        long orderId;
+        double totalAmount;
+        String failure;
+    }
+}
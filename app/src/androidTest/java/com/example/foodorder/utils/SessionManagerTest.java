@@ -0,0 +1,112 @@
+package com.example.foodorder.utils;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.room.Room;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class SessionManagerTest {
+    // Written by versions that kept the session in SharedPreferences
+    private static final String LEGACY_PREF_NAME = "FoodOrderSession";
+
+    private Context context;
+    private AppDatabase database;
+    private SharedPreferences legacyPreferences;
+    private int userId;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        userId = (int) database.userDao().insert(
+                new User("ann", "ann@example.com", "secret", "555-0100", "Street 1"));
+        legacyPreferences = context.getSharedPreferences(LEGACY_PREF_NAME, Context.MODE_PRIVATE);
+        legacyPreferences.edit().clear().commit();
+    }
+
+    @After
+    public void tearDown() {
+        legacyPreferences.edit().clear().commit();
+        database.close();
+    }
+
+    @Test
+    public void legacyLoginMovesToTheSessionsTable() throws InterruptedException {
+        assertTrue(legacyPreferences.edit()
+                .putInt("user_id", userId)
+                .putBoolean("is_logged_in", true)
+                .putString("username", "ann")
+                .putString("email", "ann@example.com")
+                .commit());
+
+        SessionManager sessionManager = load();
+
+        assertEquals(userId, sessionManager.getUserId());
+        assertEquals("ann", sessionManager.getUsername());
+        assertTrue(legacyPreferences.getAll().isEmpty());
+        awaitWrites();
+        assertEquals(userId, database.sessionDao().getSessionUser().getId());
+    }
+
+    @Test
+    public void legacyLogoutIsClearedWithoutASession() throws InterruptedException {
+        assertTrue(legacyPreferences.edit()
+                .putInt("user_id", userId)
+                .putBoolean("is_logged_in", false)
+                .commit());
+
+        SessionManager sessionManager = load();
+
+        assertFalse(sessionManager.isLoggedIn());
+        assertTrue(legacyPreferences.getAll().isEmpty());
+        awaitWrites();
+        assertNull(database.sessionDao().getSessionUser());
+    }
+
+    @Test
+    public void storedSessionWinsOverLegacyPreferences() throws InterruptedException {
+        database.sessionDao().startSession(userId);
+        assertTrue(legacyPreferences.edit()
+                .putInt("user_id", userId + 1)
+                .putBoolean("is_logged_in", true)
+                .commit());
+
+        SessionManager sessionManager = load();
+
+        assertEquals(userId, sessionManager.getUserId());
+    }
+
+    private SessionManager load() throws InterruptedException {
+        SessionManager sessionManager = new SessionManager(context, database, AppExecutors.getInstance());
+        CountDownLatch loaded = new CountDownLatch(1);
+        sessionManager.whenLoaded(loaded::countDown);
+        assertTrue(loaded.await(10, TimeUnit.SECONDS));
+        return sessionManager;
+    }
+
+    // The single write thread runs in order, so this returns after every write queued before it
+    private static void awaitWrites() throws InterruptedException {
+        CountDownLatch drained = new CountDownLatch(1);
+        AppExecutors.getInstance().diskWrite().execute(drained::countDown);
+        assertTrue(drained.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.foodorder;
+
+import android.app.Application;
+
+import com.example.foodorder.service.ChatbotService;
+import com.example.foodorder.utils.SessionManager;
+
+public class FoodOrderApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Start reading the stored session in the background before the first screen asks for it
+        SessionManager.getInstance(this);
+        // Load and index the catalog in the background so the chat answers without a cold start
+        ChatbotService.getInstance(this);
+    }
+}
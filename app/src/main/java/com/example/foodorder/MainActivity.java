@@ -17,26 +17,32 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        SessionManager sessionManager = new SessionManager(this);
-
-        // Check cart notification
-        if (sessionManager.isLoggedIn()) {
-            checkCartNotification(sessionManager.getUserId());
-            
-            // Navigate to FoodListActivity
-            Intent intent = new Intent(this, FoodListActivity.class);
-            startActivity(intent);
-            finish();
-        } else {
-            // Navigate to LoginActivity
-            Intent intent = new Intent(this, LoginActivity.class);
-            startActivity(intent);
-            finish();
-        }
+        SessionManager sessionManager = SessionManager.getInstance(this);
+        // The stored session is read in the background; route once it is available
+        sessionManager.whenLoaded(() -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+
+            // Check cart notification
+            if (sessionManager.isLoggedIn()) {
+                checkCartNotification(sessionManager.getUserId());
+
+                // Navigate to FoodListActivity
+                Intent intent = new Intent(this, FoodListActivity.class);
+                startActivity(intent);
+                finish();
+            } else {
+                // Navigate to LoginActivity
+                Intent intent = new Intent(this, LoginActivity.class);
+                startActivity(intent);
+                finish();
+            }
+        });
     }
 
     private void checkCartNotification(int userId) {
-        CartRepository cartRepository = new CartRepository(getApplication());
+        CartRepository cartRepository = CartRepository.getInstance(getApplication());
         cartRepository.getCartItemCount(userId).observe(this, count -> {
             if (count != null && count > 0) {
                 NotificationHelper.showCartNotification(this, count);
@@ -4,21 +4,26 @@ import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.foodorder.databinding.ItemCartBinding;
 import com.example.foodorder.model.CartItem;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 
 public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder> {
     private List<CartItem> cartItems = new ArrayList<>();
+    private Map<Integer, Integer> pendingQuantities = Collections.emptyMap();
     private OnCartItemActionListener listener;
 
     public interface OnCartItemActionListener {
-        void onQuantityChanged(CartItem cartItem);
+        void onQuantityChanged(CartItem cartItem, int quantity);
         void onRemoveItem(CartItem cartItem);
     }
 
@@ -26,9 +31,19 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         this.listener = listener;
     }
 
-    public void setCartItems(List<CartItem> cartItems) {
-        this.cartItems = cartItems;
-        notifyDataSetChanged();
+    /**
+     * Quantities changed by the user but not yet stored, keyed by cart item id.
+     * Rows show these instead of the stored quantity.
+     */
+    public void setPendingQuantities(Map<Integer, Integer> pendingQuantities) {
+        this.pendingQuantities = pendingQuantities;
+    }
+
+    public void setCartItems(List<CartItem> newCartItems) {
+        // Only rows whose content changed are rebound
+        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new CartDiffCallback(cartItems, newCartItems));
+        this.cartItems = newCartItems;
+        diffResult.dispatchUpdatesTo(this);
     }
 
     @NonNull
@@ -49,6 +64,11 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         return cartItems.size();
     }
 
+    private int quantityOf(CartItem cartItem) {
+        Integer pending = pendingQuantities.get(cartItem.getId());
+        return pending != null ? pending : cartItem.getQuantity();
+    }
+
     class CartViewHolder extends RecyclerView.ViewHolder {
         private final ItemCartBinding binding;
 
@@ -60,28 +80,16 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
         public void bind(CartItem cartItem) {
             binding.tvFoodName.setText(cartItem.getFoodName());
             binding.tvFoodPrice.setText(String.format(Locale.US, "$%.2f", cartItem.getFoodPrice()));
-            binding.tvQuantity.setText(String.valueOf(cartItem.getQuantity()));
-            binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", cartItem.getSubtotal()));
+            showQuantity(cartItem, quantityOf(cartItem));
 
             binding.btnMinus.setOnClickListener(v -> {
-                if (cartItem.getQuantity() > 1) {
-                    cartItem.setQuantity(cartItem.getQuantity() - 1);
-                    binding.tvQuantity.setText(String.valueOf(cartItem.getQuantity()));
-                    binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", cartItem.getSubtotal()));
-                    if (listener != null) {
-                        listener.onQuantityChanged(cartItem);
-                    }
+                int quantity = quantityOf(cartItem);
+                if (quantity > 1) {
+                    changeQuantity(cartItem, quantity - 1);
                 }
             });
 
-            binding.btnPlus.setOnClickListener(v -> {
-                cartItem.setQuantity(cartItem.getQuantity() + 1);
-                binding.tvQuantity.setText(String.valueOf(cartItem.getQuantity()));
-                binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", cartItem.getSubtotal()));
-                if (listener != null) {
-                    listener.onQuantityChanged(cartItem);
-                }
-            });
+            binding.btnPlus.setOnClickListener(v -> changeQuantity(cartItem, quantityOf(cartItem) + 1));
 
             binding.btnRemove.setOnClickListener(v -> {
                 if (listener != null) {
@@ -89,5 +97,51 @@ public class CartAdapter extends RecyclerView.Adapter<CartAdapter.CartViewHolder
                 }
             });
         }
+
+        private void changeQuantity(CartItem cartItem, int quantity) {
+            showQuantity(cartItem, quantity);
+            if (listener != null) {
+                listener.onQuantityChanged(cartItem, quantity);
+            }
+        }
+
+        private void showQuantity(CartItem cartItem, int quantity) {
+            binding.tvQuantity.setText(String.valueOf(quantity));
+            binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", cartItem.getFoodPrice() * quantity));
+        }
+    }
+
+    private static class CartDiffCallback extends DiffUtil.Callback {
+        private final List<CartItem> oldItems;
+        private final List<CartItem> newItems;
+
+        CartDiffCallback(List<CartItem> oldItems, List<CartItem> newItems) {
+            this.oldItems = oldItems;
+            this.newItems = newItems;
+        }
+
+        @Override
+        public int getOldListSize() {
+            return oldItems.size();
+        }
+
+        @Override
+        public int getNewListSize() {
+            return newItems.size();
+        }
+
+        @Override
+        public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+            return oldItems.get(oldItemPosition).getId() == newItems.get(newItemPosition).getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            CartItem oldItem = oldItems.get(oldItemPosition);
+            CartItem newItem = newItems.get(newItemPosition);
+            return oldItem.getQuantity() == newItem.getQuantity()
+                    && oldItem.getFoodPrice() == newItem.getFoodPrice()
+                    && Objects.equals(oldItem.getFoodName(), newItem.getFoodName());
+        }
     }
 }
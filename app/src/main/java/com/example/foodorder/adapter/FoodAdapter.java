@@ -4,32 +4,28 @@ import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.foodorder.databinding.ItemFoodBinding;
-import com.example.foodorder.model.Food;
+import com.example.foodorder.model.FoodSummary;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class FoodAdapter extends RecyclerView.Adapter<FoodAdapter.FoodViewHolder> {
-    private List<Food> foodList = new ArrayList<>();
+public class FoodAdapter extends PagingDataAdapter<FoodSummary, FoodAdapter.FoodViewHolder> {
     private OnFoodClickListener listener;
 
     public interface OnFoodClickListener {
-        void onFoodClick(Food food);
+        void onFoodClick(FoodSummary food);
     }
 
     public FoodAdapter(OnFoodClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
 
-    public void setFoodList(List<Food> foodList) {
-        this.foodList = foodList;
-        notifyDataSetChanged();
-    }
-
     @NonNull
     @Override
     public FoodViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -40,13 +36,26 @@ public class FoodAdapter extends RecyclerView.Adapter<FoodAdapter.FoodViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull FoodViewHolder holder, int position) {
-        holder.bind(foodList.get(position));
+        FoodSummary food = getItem(position);
+        if (food != null) {
+            holder.bind(food);
+        }
     }
 
-    @Override
-    public int getItemCount() {
-        return foodList.size();
-    }
+    private static final DiffUtil.ItemCallback<FoodSummary> DIFF_CALLBACK = new DiffUtil.ItemCallback<FoodSummary>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull FoodSummary oldItem, @NonNull FoodSummary newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull FoodSummary oldItem, @NonNull FoodSummary newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && oldItem.getPrice() == newItem.getPrice()
+                    && oldItem.getAverageRating() == newItem.getAverageRating();
+        }
+    };
 
     class FoodViewHolder extends RecyclerView.ViewHolder {
         private final ItemFoodBinding binding;
@@ -56,7 +65,7 @@ public class FoodAdapter extends RecyclerView.Adapter<FoodAdapter.FoodViewHolder
             this.binding = binding;
         }
 
-        public void bind(Food food) {
+        public void bind(FoodSummary food) {
             binding.tvFoodName.setText(food.getName());
             binding.tvFoodDescription.setText(food.getDescription());
             binding.tvFoodPrice.setText(String.format(Locale.US, "$%.2f", food.getPrice()));
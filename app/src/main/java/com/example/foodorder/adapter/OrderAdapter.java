@@ -4,34 +4,30 @@ import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.foodorder.databinding.ItemOrderBinding;
-import com.example.foodorder.model.Order;
+import com.example.foodorder.model.OrderSummary;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHolder> {
-    private List<Order> orders = new ArrayList<>();
+public class OrderAdapter extends PagingDataAdapter<OrderSummary, OrderAdapter.OrderViewHolder> {
     private OnOrderClickListener listener;
 
     public interface OnOrderClickListener {
-        void onOrderClick(Order order);
+        void onOrderClick(OrderSummary order);
     }
 
     public OrderAdapter(OnOrderClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
 
-    public void setOrders(List<Order> orders) {
-        this.orders = orders;
-        notifyDataSetChanged();
-    }
-
     @NonNull
     @Override
     public OrderViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -42,13 +38,26 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
 
     @Override
     public void onBindViewHolder(@NonNull OrderViewHolder holder, int position) {
-        holder.bind(orders.get(position));
+        OrderSummary order = getItem(position);
+        if (order != null) {
+            holder.bind(order);
+        }
     }
 
-    @Override
-    public int getItemCount() {
-        return orders.size();
-    }
+    private static final DiffUtil.ItemCallback<OrderSummary> DIFF_CALLBACK = new DiffUtil.ItemCallback<OrderSummary>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull OrderSummary oldItem, @NonNull OrderSummary newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull OrderSummary oldItem, @NonNull OrderSummary newItem) {
+            return Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && oldItem.getTotalAmount() == newItem.getTotalAmount()
+                    && oldItem.getTimestamp() == newItem.getTimestamp()
+                    && Objects.equals(oldItem.getItemsSummary(), newItem.getItemsSummary());
+        }
+    };
 
     class OrderViewHolder extends RecyclerView.ViewHolder {
         private final ItemOrderBinding binding;
@@ -58,14 +67,15 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
             this.binding = binding;
         }
 
-        public void bind(Order order) {
+        public void bind(OrderSummary order) {
             binding.tvOrderId.setText("Order #" + order.getId());
             binding.tvOrderStatus.setText(order.getStatus());
             
             SimpleDateFormat sdf = new SimpleDateFormat("MMM dd, yyyy HH:mm", Locale.US);
             binding.tvOrderDate.setText(sdf.format(new Date(order.getTimestamp())));
             
-            binding.tvOrderItems.setText(getOrderItemsSummary(order.getOrderItems()));
+            // Orders from before order_items that the migration could not decode have no lines
+            binding.tvOrderItems.setText(order.getItemsSummary() != null ? order.getItemsSummary() : "Order items");
             binding.tvOrderTotal.setText(String.format(Locale.US, "$%.2f", order.getTotalAmount()));
 
             binding.getRoot().setOnClickListener(v -> {
@@ -74,14 +84,5 @@ public class OrderAdapter extends RecyclerView.Adapter<OrderAdapter.OrderViewHol
                 }
             });
         }
-
-        private String getOrderItemsSummary(String orderItemsJson) {
-            try {
-                // Simple extraction from JSON - just return as is for now
-                return orderItemsJson.length() > 50 ? orderItemsJson.substring(0, 50) + "..." : orderItemsJson;
-            } catch (Exception e) {
-                return "Order items";
-            }
-        }
     }
 }
@@ -5,11 +5,13 @@ import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.foodorder.model.CartItem;
 
 import java.util.List;
+import java.util.Map;
 
 @Dao
 public interface CartItemDao {
@@ -22,9 +24,37 @@ public interface CartItemDao {
     @Delete
     void delete(CartItem cartItem);
 
+    /**
+     * Add quantity to the user's row for this food, creating the row if there is none.
+     * One statement against the unique (userId, foodId) index, so concurrent adds can't
+     * produce duplicate rows. Written as INSERT OR REPLACE because UPSERT needs SQLite 3.24 (API 30).
+     */
+    @Query("INSERT OR REPLACE INTO cart_items (id, userId, foodId, foodName, foodPrice, foodImageUrl, quantity) "
+            + "VALUES ((SELECT id FROM cart_items WHERE userId = :userId AND foodId = :foodId), "
+            + ":userId, :foodId, :foodName, :foodPrice, :foodImageUrl, "
+            + "COALESCE((SELECT quantity FROM cart_items WHERE userId = :userId AND foodId = :foodId), 0) + :quantity)")
+    void addToCart(int userId, int foodId, String foodName, double foodPrice, String foodImageUrl, int quantity);
+
+    @Query("UPDATE cart_items SET quantity = :quantity WHERE id = :cartItemId")
+    void updateQuantity(int cartItemId, int quantity);
+
+    /**
+     * Apply several quantity changes in one transaction, so observers are invalidated once.
+     * @param quantities cart item id -> new quantity
+     */
+    @Transaction
+    default void updateQuantities(Map<Integer, Integer> quantities) {
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            updateQuantity(entry.getKey(), entry.getValue());
+        }
+    }
+
     @Query("SELECT * FROM cart_items WHERE userId = :userId")
     LiveData<List<CartItem>> getCartItemsByUserId(int userId);
 
+    @Query("SELECT * FROM cart_items WHERE userId = :userId")
+    List<CartItem> getCartItemsByUserIdSync(int userId);
+
     @Query("SELECT * FROM cart_items WHERE userId = :userId AND foodId = :foodId LIMIT 1")
     CartItem getCartItem(int userId, int foodId);
 
@@ -1,6 +1,7 @@
 package com.example.foodorder.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -8,6 +9,8 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.example.foodorder.model.Food;
+import com.example.foodorder.model.FoodMatch;
+import com.example.foodorder.model.FoodSummary;
 
 import java.util.List;
 
@@ -16,6 +19,9 @@ public interface FoodDao {
     @Insert
     long insert(Food food);
 
+    @Insert
+    List<Long> insertAll(List<Food> foods);
+
     @Update
     void update(Food food);
 
@@ -28,14 +34,31 @@ public interface FoodDao {
     @Query("SELECT * FROM foods ORDER BY name ASC")
     LiveData<List<Food>> getAllFoods();
 
-    @Query("SELECT * FROM foods WHERE category = :category ORDER BY name ASC")
-    LiveData<List<Food>> getFoodsByCategory(String category);
+    @Query("SELECT * FROM foods ORDER BY id ASC")
+    List<Food> getAllFoodsSync();
+
+    @Query("SELECT id, name, description, price, averageRating FROM foods ORDER BY name ASC")
+    PagingSource<Integer, FoodSummary> getPagedFoodSummaries();
+
+    @Query("SELECT id, name, description, price, averageRating FROM foods WHERE category = :category ORDER BY name ASC")
+    PagingSource<Integer, FoodSummary> getPagedFoodSummariesByCategory(String category);
+
+    @Query("SELECT id, name, description, price, averageRating FROM foods WHERE name LIKE '%' || :searchQuery || '%' OR description LIKE '%' || :searchQuery || '%' ORDER BY name ASC")
+    PagingSource<Integer, FoodSummary> searchPagedFoodSummaries(String searchQuery);
+
+    /**
+     * Every food matching an FTS MATCH expression such as "marg*" "piz*", with its
+     * matchinfo(foods_fts, 'pcnalx') blob for ranking in Java.
+     */
+    @Query("SELECT docid, matchinfo(foods_fts, 'pcnalx') AS matchInfo FROM foods_fts "
+            + "WHERE foods_fts MATCH :matchQuery")
+    List<FoodMatch> getFtsMatches(String matchQuery);
 
-    @Query("SELECT * FROM foods WHERE name LIKE '%' || :searchQuery || '%' OR description LIKE '%' || :searchQuery || '%' ORDER BY name ASC")
-    LiveData<List<Food>> searchFoods(String searchQuery);
+    @Query("SELECT id, name, description, price, averageRating FROM foods WHERE id IN (:foodIds)")
+    List<FoodSummary> getFoodSummariesByIds(List<Integer> foodIds);
 
-    @Query("SELECT * FROM foods WHERE isAvailable = 1 ORDER BY name ASC")
-    LiveData<List<Food>> getAvailableFoods();
+    @Query("SELECT id, name, description, price, averageRating FROM foods WHERE isAvailable = 1 ORDER BY name ASC")
+    LiveData<List<FoodSummary>> getAvailableFoodSummaries();
 
     @Query("SELECT DISTINCT category FROM foods ORDER BY category ASC")
     LiveData<List<String>> getAllCategories();
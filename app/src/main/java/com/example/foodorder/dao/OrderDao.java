@@ -1,12 +1,16 @@
 package com.example.foodorder.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.foodorder.model.Order;
+import com.example.foodorder.model.OrderItem;
+import com.example.foodorder.model.OrderSummary;
 
 import java.util.List;
 
@@ -15,12 +19,38 @@ public interface OrderDao {
     @Insert
     long insert(Order order);
 
+    @Insert
+    void insertItems(List<OrderItem> items);
+
+    /**
+     * Insert an order together with its item rows in one transaction.
+     */
+    @Transaction
+    default long insertWithItems(Order order, List<OrderItem> items) {
+        long orderId = insert(order);
+        for (OrderItem item : items) {
+            item.setOrderId((int) orderId);
+        }
+        insertItems(items);
+        return orderId;
+    }
+
     @Update
     void update(Order order);
 
     @Query("SELECT * FROM orders WHERE userId = :userId ORDER BY timestamp DESC")
     LiveData<List<Order>> getOrdersByUserId(int userId);
 
+    /**
+     * Order history rows with their items joined from order_items. Items are listed in
+     * insertion order, the order index_order_items_orderId returns them in.
+     */
+    @Query("SELECT id, status, totalAmount, timestamp, "
+            + "(SELECT GROUP_CONCAT(quantity || 'x ' || foodName, ', ') FROM order_items "
+            + "WHERE order_items.orderId = orders.id) AS itemsSummary "
+            + "FROM orders WHERE userId = :userId ORDER BY timestamp DESC")
+    PagingSource<Integer, OrderSummary> getPagedOrderSummariesByUserId(int userId);
+
     @Query("SELECT * FROM orders WHERE id = :orderId LIMIT 1")
     LiveData<Order> getOrderById(int orderId);
 
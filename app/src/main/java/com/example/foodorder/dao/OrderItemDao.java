@@ -0,0 +1,27 @@
+package com.example.foodorder.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import com.example.foodorder.model.FoodSales;
+import com.example.foodorder.model.OrderItem;
+
+import java.util.List;
+
+@Dao
+public interface OrderItemDao {
+    @Query("SELECT * FROM order_items WHERE orderId = :orderId ORDER BY id ASC")
+    LiveData<List<OrderItem>> getItemsByOrderId(int orderId);
+
+    @Query("SELECT order_items.foodId AS foodId, MAX(order_items.foodName) AS foodName, "
+            + "SUM(order_items.quantity) AS totalQuantity, "
+            + "SUM(order_items.price * order_items.quantity) AS totalRevenue "
+            + "FROM order_items INNER JOIN orders ON orders.id = order_items.orderId "
+            + "WHERE orders.timestamp >= :fromTimestamp AND orders.timestamp < :toTimestamp "
+            + "GROUP BY order_items.foodId ORDER BY totalQuantity DESC")
+    LiveData<List<FoodSales>> getFoodSalesBetween(long fromTimestamp, long toTimestamp);
+
+    @Query("SELECT COALESCE(SUM(quantity), 0) FROM order_items WHERE foodId = :foodId")
+    LiveData<Integer> getTotalQuantitySold(int foodId);
+}
@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import com.example.foodorder.model.Review;
 
@@ -14,15 +15,30 @@ public interface ReviewDao {
     @Insert
     long insert(Review review);
 
+    @Query("UPDATE foods SET ratingSum = ratingSum + :rating, reviewCount = reviewCount + 1, "
+            + "averageRating = (ratingSum + :rating) / (reviewCount + 1) WHERE id = :foodId")
+    void addRatingToFood(int foodId, float rating);
+
+    /**
+     * Insert a review and fold its rating into the food's running aggregates atomically,
+     * so readers never need to recompute AVG/COUNT over reviews.
+     */
+    @Transaction
+    default long insertAndUpdateRating(Review review) {
+        long reviewId = insert(review);
+        addRatingToFood(review.getFoodId(), review.getRating());
+        return reviewId;
+    }
+
     @Query("SELECT * FROM reviews WHERE foodId = :foodId ORDER BY timestamp DESC")
     LiveData<List<Review>> getReviewsByFoodId(int foodId);
 
     @Query("SELECT * FROM reviews WHERE userId = :userId AND foodId = :foodId")
     List<Review> getUserReviewForFood(int userId, int foodId);
 
-    @Query("SELECT AVG(rating) FROM reviews WHERE foodId = :foodId")
+    @Query("SELECT averageRating FROM foods WHERE id = :foodId")
     LiveData<Float> getAverageRating(int foodId);
 
-    @Query("SELECT COUNT(*) FROM reviews WHERE foodId = :foodId")
+    @Query("SELECT reviewCount FROM foods WHERE id = :foodId")
     LiveData<Integer> getReviewCount(int foodId);
 }
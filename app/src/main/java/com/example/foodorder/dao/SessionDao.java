@@ -0,0 +1,30 @@
+package com.example.foodorder.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.example.foodorder.model.Session;
+import com.example.foodorder.model.User;
+
+@Dao
+public interface SessionDao {
+    @Insert
+    void insert(Session session);
+
+    @Query("DELETE FROM sessions")
+    void clear();
+
+    /**
+     * Replace whatever session exists with one for this user.
+     */
+    @Transaction
+    default void startSession(int userId) {
+        clear();
+        insert(new Session(userId, System.currentTimeMillis()));
+    }
+
+    @Query("SELECT users.* FROM sessions JOIN users ON users.id = sessions.userId LIMIT 1")
+    User getSessionUser();
+}
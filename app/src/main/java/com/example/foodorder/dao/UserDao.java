@@ -4,6 +4,7 @@ import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.foodorder.model.User;
@@ -12,12 +13,32 @@ import java.util.List;
 
 @Dao
 public interface UserDao {
+    // Returned by register() instead of a row id
+    long EMAIL_TAKEN = -1;
+    long USERNAME_TAKEN = -2;
+
     @Insert
     long insert(User user);
 
     @Update
     void update(User user);
 
+    /**
+     * Insert the user if neither the email nor the username is in use. Both checks and the
+     * insert run in one transaction, and the unique indexes on both columns back them up.
+     * @return the new user id, {@link #EMAIL_TAKEN} or {@link #USERNAME_TAKEN}
+     */
+    @Transaction
+    default long register(User user) {
+        if (getUserByEmail(user.getEmail()) != null) {
+            return EMAIL_TAKEN;
+        }
+        if (getUserByUsername(user.getUsername()) != null) {
+            return USERNAME_TAKEN;
+        }
+        return insert(user);
+    }
+
     @Query("SELECT * FROM users WHERE email = :email AND password = :password LIMIT 1")
     User login(String email, String password);
 
@@ -30,12 +51,6 @@ public interface UserDao {
     @Query("SELECT * FROM users WHERE id = :userId LIMIT 1")
     User getUserById(int userId);
 
-    @Query("SELECT * FROM users WHERE isLoggedIn = 1 LIMIT 1")
-    User getLoggedInUser();
-
-    @Query("UPDATE users SET isLoggedIn = 0")
-    void logoutAllUsers();
-
     @Query("SELECT * FROM users")
     LiveData<List<User>> getAllUsers();
 }
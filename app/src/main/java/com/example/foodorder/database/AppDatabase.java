@@ -10,33 +10,59 @@ import com.example.foodorder.dao.CartItemDao;
 import com.example.foodorder.dao.FoodDao;
 import com.example.foodorder.dao.MessageDao;
 import com.example.foodorder.dao.OrderDao;
+import com.example.foodorder.dao.OrderItemDao;
 import com.example.foodorder.dao.ReviewDao;
+import com.example.foodorder.dao.SessionDao;
 import com.example.foodorder.dao.UserDao;
 import com.example.foodorder.model.CartItem;
 import com.example.foodorder.model.Food;
+import com.example.foodorder.model.FoodFts;
 import com.example.foodorder.model.Message;
 import com.example.foodorder.model.Order;
+import com.example.foodorder.model.OrderItem;
 import com.example.foodorder.model.Review;
+import com.example.foodorder.model.Session;
 import com.example.foodorder.model.User;
+import com.example.foodorder.utils.AppExecutors;
 
-@Database(entities = {User.class, Food.class, CartItem.class, Order.class, Review.class, Message.class}, version = 3, exportSchema = false)
+@Database(entities = {User.class, Food.class, FoodFts.class, CartItem.class, Order.class, OrderItem.class, Review.class, Message.class, Session.class}, version = 11)
 public abstract class AppDatabase extends RoomDatabase {
+    // Generated from assets/database.json at build time, see app/prepackaged-db.gradle
+    static final String PREPACKAGED_DATABASE = "databases/food_order_prepackaged.db";
+
     private static AppDatabase instance;
 
     public abstract UserDao userDao();
     public abstract FoodDao foodDao();
     public abstract CartItemDao cartItemDao();
     public abstract OrderDao orderDao();
+    public abstract OrderItemDao orderItemDao();
     public abstract ReviewDao reviewDao();
     public abstract MessageDao messageDao();
+    public abstract SessionDao sessionDao();
 
     public static synchronized AppDatabase getInstance(Context context) {
         if (instance == null) {
-            instance = Room.databaseBuilder(context.getApplicationContext(),
-                    AppDatabase.class, "food_order_database")
-                    .fallbackToDestructiveMigration()
-                    .build();
+            instance = buildDatabase(context);
         }
         return instance;
     }
+
+    /**
+     * Queries (LiveData/Paging) run on the diskRead pool, which WAL lets use up to 4 concurrent
+     * read connections alongside the writer. Room's own transactions, such as paging initial loads,
+     * get no executor of their own: Room runs them one at a time on the diskRead pool, so they never
+     * queue behind app writes, which go through the single diskWrite thread.
+     */
+    private static AppDatabase buildDatabase(Context context) {
+        AppExecutors executors = AppExecutors.getInstance();
+        return Room.databaseBuilder(context.getApplicationContext(),
+                AppDatabase.class, "food_order_database")
+                .createFromAsset(PREPACKAGED_DATABASE)
+                .addMigrations(DatabaseMigrations.all(context.getApplicationContext()))
+                .fallbackToDestructiveMigration()
+                .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                .setQueryExecutor(executors.diskRead())
+                .build();
+    }
 }
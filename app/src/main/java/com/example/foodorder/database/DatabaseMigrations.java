@@ -0,0 +1,430 @@
+package com.example.foodorder.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.example.foodorder.utils.FoodImageStore;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema migrations for AppDatabase.
+ * Index names follow Room's default "index_<table>_<columns>" convention so that
+ * migrated databases validate against the entity definitions.
+ */
+final class DatabaseMigrations {
+    private static final String TAG = "DatabaseMigrations";
+    private static final String CATALOG_ASSET = "database.json";
+    // Category that foods outside the catalog are filed under
+    private static final String CATCH_ALL_CATEGORY = "More";
+
+    private DatabaseMigrations() {
+    }
+
+    static Migration[] all(Context context) {
+        return new Migration[]{
+                MIGRATION_3_4,
+                MIGRATION_4_5,
+                migration5To6(context),
+                MIGRATION_6_7,
+                MIGRATION_7_8,
+                MIGRATION_8_9,
+                MIGRATION_9_10,
+                migration10To11(context)
+        };
+    }
+
+    /**
+     * Version 4 adds composite indexes matching the per-user and per-food lookups
+     * in the DAOs, so they no longer scan and sort whole tables.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_foods_category_name` "
+                    + "ON `foods` (`category`, `name`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_cart_items_userId_foodId` "
+                    + "ON `cart_items` (`userId`, `foodId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_userId_timestamp` "
+                    + "ON `orders` (`userId`, `timestamp`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_userId_status_timestamp` "
+                    + "ON `orders` (`userId`, `status`, `timestamp`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_reviews_foodId_timestamp` "
+                    + "ON `reviews` (`foodId`, `timestamp`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_reviews_userId_foodId` "
+                    + "ON `reviews` (`userId`, `foodId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_messages_userId_timestamp` "
+                    + "ON `messages` (`userId`, `timestamp`)");
+        }
+    };
+
+    /**
+     * Version 5 adds the foods_fts full-text table. The triggers mirror the ones Room
+     * generates for an external-content FTS entity; the table is then rebuilt from foods.
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `foods_fts` USING FTS4("
+                    + "`name` TEXT, `description` TEXT, `ingredients` TEXT, `category` TEXT, "
+                    + "content=`foods`)");
+            createFoodsFtsTriggers(db);
+            db.execSQL("INSERT INTO `foods_fts`(`foods_fts`) VALUES ('rebuild')");
+        }
+    };
+
+    /**
+     * Version 6 moves Food.imageData blobs into {@link FoodImageStore} and keeps only
+     * the file reference in foods.imageRef. The foods table is rebuilt to drop the blob
+     * column, since SQLite on older devices can't drop columns in place.
+     */
+    static Migration migration5To6(Context context) {
+        FoodImageStore imageStore = new FoodImageStore(context);
+        return new Migration(5, 6) {
+            @Override
+            public void migrate(@NonNull SupportSQLiteDatabase db) {
+                db.execSQL("ALTER TABLE `foods` ADD COLUMN `imageRef` TEXT");
+
+                // Read ids first and then one blob at a time, so a single cursor window
+                // never has to hold more than one image
+                List<Integer> foodIds = new ArrayList<>();
+                try (Cursor cursor = db.query("SELECT `id` FROM `foods` WHERE `imageData` IS NOT NULL")) {
+                    while (cursor.moveToNext()) {
+                        foodIds.add(cursor.getInt(0));
+                    }
+                }
+                for (int foodId : foodIds) {
+                    byte[] imageData = null;
+                    try (Cursor cursor = db.query("SELECT `imageData` FROM `foods` WHERE `id` = ?",
+                            new Object[]{foodId})) {
+                        if (cursor.moveToFirst()) {
+                            imageData = cursor.getBlob(0);
+                        }
+                    }
+                    String imageRef = imageStore.put(imageData);
+                    if (imageRef != null) {
+                        ContentValues values = new ContentValues();
+                        values.put("imageRef", imageRef);
+                        db.update("foods", SQLiteDatabase.CONFLICT_NONE, values, "id = ?",
+                                new Object[]{foodId});
+                    }
+                }
+
+                db.execSQL("CREATE TABLE IF NOT EXISTS `foods_new` (" + FOODS_COLUMNS_V6 + ")");
+                db.execSQL("INSERT INTO `foods_new` (" + FOODS_COLUMN_NAMES_V6 + ") "
+                        + "SELECT " + FOODS_COLUMN_NAMES_V6 + " FROM `foods`");
+                db.execSQL("DROP TABLE `foods`");
+                db.execSQL("ALTER TABLE `foods_new` RENAME TO `foods`");
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_foods_category_name` "
+                        + "ON `foods` (`category`, `name`)");
+                createFoodsFtsTriggers(db);
+            }
+        };
+    }
+
+    /**
+     * Version 7 adds foods.ratingSum and backfills ratingSum, reviewCount and
+     * averageRating from the existing reviews.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `foods` ADD COLUMN `ratingSum` REAL NOT NULL DEFAULT 0");
+            db.execSQL("UPDATE `foods` SET "
+                    + "`ratingSum` = (SELECT SUM(`rating`) FROM `reviews` WHERE `reviews`.`foodId` = `foods`.`id`), "
+                    + "`reviewCount` = (SELECT COUNT(*) FROM `reviews` WHERE `reviews`.`foodId` = `foods`.`id`), "
+                    + "`averageRating` = (SELECT AVG(`rating`) FROM `reviews` WHERE `reviews`.`foodId` = `foods`.`id`) "
+                    + "WHERE `id` IN (SELECT DISTINCT `foodId` FROM `reviews`)");
+        }
+    };
+
+    /**
+     * Version 8 adds the normalized order_items table and an orders(timestamp) index for
+     * date-range reports. Existing orders are backfilled by decoding their JSON once here.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `order_items` ("
+                    + "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `orderId` INTEGER NOT NULL, "
+                    + "`foodId` INTEGER NOT NULL, `foodName` TEXT, `price` REAL NOT NULL, "
+                    + "`quantity` INTEGER NOT NULL, FOREIGN KEY(`orderId`) REFERENCES `orders`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_order_items_orderId` "
+                    + "ON `order_items` (`orderId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_order_items_foodId_orderId` "
+                    + "ON `order_items` (`foodId`, `orderId`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_orders_timestamp` ON `orders` (`timestamp`)");
+
+            try (Cursor cursor = db.query("SELECT `id`, `orderItems` FROM `orders`")) {
+                while (cursor.moveToNext()) {
+                    int orderId = cursor.getInt(0);
+                    String orderItemsJson = cursor.getString(1);
+                    if (orderItemsJson == null || orderItemsJson.isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        JSONArray items = new JSONArray(orderItemsJson);
+                        for (int i = 0; i < items.length(); i++) {
+                            JSONObject item = items.getJSONObject(i);
+                            ContentValues values = new ContentValues();
+                            values.put("orderId", orderId);
+                            values.put("foodId", item.getInt("foodId"));
+                            values.put("foodName", item.optString("foodName", ""));
+                            values.put("price", item.getDouble("price"));
+                            values.put("quantity", item.getInt("quantity"));
+                            db.insert("order_items", SQLiteDatabase.CONFLICT_NONE, values);
+                        }
+                    } catch (JSONException e) {
+                        Log.w(TAG, "Skipping unreadable items for order " + orderId, e);
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * Version 9 makes cart_items(userId, foodId) unique so add-to-cart can upsert in one
+     * statement. Duplicate rows left by racing inserts are merged into the oldest one first.
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("UPDATE `cart_items` SET `quantity` = (SELECT SUM(`c`.`quantity`) FROM `cart_items` AS `c` "
+                    + "WHERE `c`.`userId` = `cart_items`.`userId` AND `c`.`foodId` = `cart_items`.`foodId`) "
+                    + "WHERE `id` IN (SELECT MIN(`id`) FROM `cart_items` GROUP BY `userId`, `foodId` "
+                    + "HAVING COUNT(*) > 1)");
+            db.execSQL("DELETE FROM `cart_items` WHERE `id` NOT IN "
+                    + "(SELECT MIN(`id`) FROM `cart_items` GROUP BY `userId`, `foodId`)");
+            db.execSQL("DROP INDEX IF EXISTS `index_cart_items_userId_foodId`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_cart_items_userId_foodId` "
+                    + "ON `cart_items` (`userId`, `foodId`)");
+        }
+    };
+
+    /**
+     * Version 10 replaces users.isLoggedIn with a one-row sessions table and makes
+     * users.email and users.username unique. Duplicates from before the constraint keep
+     * the oldest account as is; later ones get "#<id>" appended so the index can be built.
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            for (String column : new String[]{"email", "username"}) {
+                db.execSQL("UPDATE `users` SET `" + column + "` = `" + column + "` || '#' || `id` "
+                        + "WHERE `" + column + "` IS NOT NULL AND `id` NOT IN "
+                        + "(SELECT MIN(`id`) FROM `users` WHERE `" + column + "` IS NOT NULL GROUP BY `" + column + "`)");
+            }
+
+            Integer loggedInUserId = null;
+            try (Cursor cursor = db.query("SELECT MAX(`id`) FROM `users` WHERE `isLoggedIn` = 1")) {
+                if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                    loggedInUserId = cursor.getInt(0);
+                }
+            }
+
+            db.execSQL("CREATE TABLE IF NOT EXISTS `users_new` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`username` TEXT, `email` TEXT, `password` TEXT, `phoneNumber` TEXT, `address` TEXT)");
+            db.execSQL("INSERT INTO `users_new` (`id`, `username`, `email`, `password`, `phoneNumber`, `address`) "
+                    + "SELECT `id`, `username`, `email`, `password`, `phoneNumber`, `address` FROM `users`");
+            db.execSQL("DROP TABLE `users`");
+            db.execSQL("ALTER TABLE `users_new` RENAME TO `users`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_users_email` ON `users` (`email`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_users_username` ON `users` (`username`)");
+
+            // Created after the rebuild so dropping the old users table can't cascade into it
+            db.execSQL("CREATE TABLE IF NOT EXISTS `sessions` (`userId` INTEGER NOT NULL, `loginTime` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`userId`), FOREIGN KEY(`userId`) REFERENCES `users`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            if (loggedInUserId != null) {
+                db.execSQL("INSERT INTO `sessions` (`userId`, `loginTime`) VALUES (?, ?)",
+                        new Object[]{loggedInUserId, System.currentTimeMillis()});
+            }
+        }
+    };
+
+    /**
+     * Version 11 brings the menu of installs that predate the prepackaged database in line
+     * with assets/database.json. Rows named like a catalog food take its catalog columns and
+     * keep their id, so carts, orders and reviews still point at them; the other catalog foods
+     * are added. Leftover sample rows are filed under the catalog's catch-all category instead
+     * of keeping category id 0, which is Pizza.
+     */
+    static Migration migration10To11(Context context) {
+        Context appContext = context.getApplicationContext();
+        return new Migration(10, 11) {
+            @Override
+            public void migrate(@NonNull SupportSQLiteDatabase db) {
+                Map<Integer, String> categoryNames = new HashMap<>();
+                List<ContentValues> catalogFoods = new ArrayList<>();
+                try (JsonReader reader = new JsonReader(new InputStreamReader(
+                        appContext.getAssets().open(CATALOG_ASSET), StandardCharsets.UTF_8))) {
+                    readCatalogFoods(reader, categoryNames, catalogFoods);
+                } catch (IOException | IllegalStateException | NumberFormatException e) {
+                    Log.e(TAG, "Error reading catalog, keeping the existing menu", e);
+                    return;
+                }
+
+                List<String> catalogNames = new ArrayList<>();
+                for (ContentValues food : catalogFoods) {
+                    String name = food.getAsString("name");
+                    catalogNames.add(name);
+                    String category = categoryNames.get(food.getAsInteger("categoryId"));
+                    food.put("category", category != null ? category : "Other");
+                    if (db.update("foods", SQLiteDatabase.CONFLICT_NONE, food,
+                            "`name` = ? COLLATE NOCASE", new Object[]{name}) > 0) {
+                        continue;
+                    }
+                    // The catalog star counts as one rating, as in the prepackaged database
+                    double star = food.getAsDouble("star");
+                    food.put("averageRating", star);
+                    food.put("reviewCount", star > 0 ? 1 : 0);
+                    food.put("ratingSum", star);
+                    db.insert("foods", SQLiteDatabase.CONFLICT_NONE, food);
+                }
+
+                Integer catchAllId = null;
+                for (Map.Entry<Integer, String> category : categoryNames.entrySet()) {
+                    if (CATCH_ALL_CATEGORY.equals(category.getValue())) {
+                        catchAllId = category.getKey();
+                    }
+                }
+                if (catchAllId != null && !catalogNames.isEmpty()) {
+                    StringBuilder placeholders = new StringBuilder();
+                    Object[] bindArgs = new Object[catalogNames.size() + 2];
+                    bindArgs[0] = CATCH_ALL_CATEGORY;
+                    bindArgs[1] = catchAllId;
+                    for (int i = 0; i < catalogNames.size(); i++) {
+                        placeholders.append(i == 0 ? "?" : ", ?");
+                        bindArgs[i + 2] = catalogNames.get(i);
+                    }
+                    db.execSQL("UPDATE `foods` SET `category` = ?, `categoryId` = ? WHERE `name` COLLATE NOCASE "
+                            + "NOT IN (" + placeholders + ")", bindArgs);
+                }
+            }
+        };
+    }
+
+    /**
+     * Read category names and the Foods section of the catalog asset, each food as the
+     * foods columns it sets.
+     */
+    private static void readCatalogFoods(JsonReader reader, Map<Integer, String> categoryNames,
+                                         List<ContentValues> foods) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "Categories":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        ContentValues category = readCatalogObject(reader);
+                        categoryNames.put(category.getAsInteger("Id"), category.getAsString("Name"));
+                    }
+                    reader.endArray();
+                    break;
+                case "Foods":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        ContentValues json = readCatalogObject(reader);
+                        ContentValues food = new ContentValues();
+                        food.put("name", json.getAsString("Name"));
+                        food.put("description", json.getAsString("Description"));
+                        food.put("price", json.getAsDouble("Price"));
+                        food.put("imageUrl", json.getAsString("ImagePath"));
+                        food.put("imagePath", json.getAsString("ImagePath"));
+                        food.put("ingredients", json.getAsString("Ingredients"));
+                        food.put("isAvailable", Boolean.TRUE.equals(json.getAsBoolean("IsAvailable")) ? 1 : 0);
+                        food.put("categoryId", json.getAsInteger("CategoryId"));
+                        food.put("priceId", json.getAsInteger("PriceId"));
+                        food.put("timeId", json.getAsInteger("TimeId"));
+                        food.put("timeValue", json.getAsInteger("TimeValue"));
+                        food.put("locationId", json.getAsInteger("LocationId"));
+                        food.put("star", json.getAsDouble("Star"));
+                        food.put("bestFood", Boolean.TRUE.equals(json.getAsBoolean("BestFood")) ? 1 : 0);
+                        foods.add(food);
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+
+    /**
+     * Flat JSON object as strings; ContentValues converts them when read back.
+     */
+    private static ContentValues readCatalogObject(JsonReader reader) throws IOException {
+        ContentValues values = new ContentValues();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            JsonToken token = reader.peek();
+            if (token == JsonToken.NULL) {
+                reader.nextNull();
+            } else if (token == JsonToken.BOOLEAN) {
+                values.put(name, reader.nextBoolean());
+            } else if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+                values.put(name, reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return values;
+    }
+
+    private static final String FOODS_COLUMNS_V6 = "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+            + "`name` TEXT, `description` TEXT, `price` REAL NOT NULL, `imageUrl` TEXT, `imageRef` TEXT, "
+            + "`category` TEXT, `ingredients` TEXT, `isAvailable` INTEGER NOT NULL, "
+            + "`averageRating` REAL NOT NULL, `reviewCount` INTEGER NOT NULL, `categoryId` INTEGER NOT NULL, "
+            + "`priceId` INTEGER NOT NULL, `timeId` INTEGER NOT NULL, `timeValue` INTEGER NOT NULL, "
+            + "`locationId` INTEGER NOT NULL, `star` REAL NOT NULL, `imagePath` TEXT, `bestFood` INTEGER NOT NULL";
+
+    private static final String FOODS_COLUMN_NAMES_V6 = "`id`, `name`, `description`, `price`, `imageUrl`, "
+            + "`imageRef`, `category`, `ingredients`, `isAvailable`, `averageRating`, `reviewCount`, "
+            + "`categoryId`, `priceId`, `timeId`, `timeValue`, `locationId`, `star`, `imagePath`, `bestFood`";
+
+    // Content-sync triggers of foods_fts, exactly as Room generates them for FoodFts
+    private static final String[] FOODS_FTS_TRIGGERS = {
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_foods_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `foods` BEGIN DELETE FROM `foods_fts` WHERE `docid`=OLD.`rowid`; END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_foods_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `foods` BEGIN DELETE FROM `foods_fts` WHERE `docid`=OLD.`rowid`; END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_foods_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `foods` BEGIN INSERT INTO `foods_fts`"
+                    + "(`docid`, `name`, `description`, `ingredients`, `category`) "
+                    + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`description`, NEW.`ingredients`, NEW.`category`); END",
+            "CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_foods_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `foods` BEGIN INSERT INTO `foods_fts`"
+                    + "(`docid`, `name`, `description`, `ingredients`, `category`) "
+                    + "VALUES (NEW.`rowid`, NEW.`name`, NEW.`description`, NEW.`ingredients`, NEW.`category`); END"
+    };
+
+    private static void createFoodsFtsTriggers(SupportSQLiteDatabase db) {
+        for (String trigger : FOODS_FTS_TRIGGERS) {
+            db.execSQL(trigger);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.foodorder.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "cart_items")
+@Entity(tableName = "cart_items",
+        indices = {@Index(value = {"userId", "foodId"}, unique = true)})
 public class CartItem {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -1,9 +1,12 @@
 package com.example.foodorder.model;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "foods")
+@Entity(tableName = "foods",
+        indices = {@Index(value = {"category", "name"})})
 public class Food {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -11,12 +14,14 @@ public class Food {
     private String description;
     private double price;
     private String imageUrl;
-    private byte[] imageData; // Store image as byte array in database
+    private String imageRef; // Key of the image file in FoodImageStore
     private String category;
     private String ingredients;
     private boolean isAvailable;
     private double averageRating;
     private int reviewCount;
+    @ColumnInfo(defaultValue = "0")
+    private double ratingSum; // Running sum of review ratings, kept with reviewCount
     
     // Additional fields for chatbot functionality
     private int categoryId;
@@ -81,12 +86,12 @@ public class Food {
         this.imageUrl = imageUrl;
     }
 
-    public byte[] getImageData() {
-        return imageData;
+    public String getImageRef() {
+        return imageRef;
     }
 
-    public void setImageData(byte[] imageData) {
-        this.imageData = imageData;
+    public void setImageRef(String imageRef) {
+        this.imageRef = imageRef;
     }
 
     public String getCategory() {
@@ -129,6 +134,14 @@ public class Food {
         this.reviewCount = reviewCount;
     }
 
+    public double getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(double ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
     public int getCategoryId() {
         return categoryId;
     }
@@ -0,0 +1,57 @@
+package com.example.foodorder.model;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+
+/**
+ * Full-text index over the searchable columns of {@link Food}.
+ * Room keeps it in sync with the foods table through content triggers.
+ */
+@Fts4(contentEntity = Food.class)
+@Entity(tableName = "foods_fts")
+public class FoodFts {
+    private String name;
+    private String description;
+    private String ingredients;
+    private String category;
+
+    public FoodFts(String name, String description, String ingredients, String category) {
+        this.name = name;
+        this.description = description;
+        this.ingredients = ingredients;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getIngredients() {
+        return ingredients;
+    }
+
+    public void setIngredients(String ingredients) {
+        this.ingredients = ingredients;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.foodorder.model;
+
+/**
+ * One full-text hit from foods_fts: the food id and the raw matchinfo blob
+ * used to rank it.
+ */
+public class FoodMatch {
+    private int docid;
+    private byte[] matchInfo;
+
+    public FoodMatch(int docid, byte[] matchInfo) {
+        this.docid = docid;
+        this.matchInfo = matchInfo;
+    }
+
+    // Getters
+    public int getDocid() {
+        return docid;
+    }
+
+    public byte[] getMatchInfo() {
+        return matchInfo;
+    }
+}
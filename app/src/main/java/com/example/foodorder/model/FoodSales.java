@@ -0,0 +1,35 @@
+package com.example.foodorder.model;
+
+/**
+ * Per-food sales totals aggregated from order_items.
+ */
+public class FoodSales {
+    private int foodId;
+    private String foodName;
+    private int totalQuantity;
+    private double totalRevenue;
+
+    public FoodSales(int foodId, String foodName, int totalQuantity, double totalRevenue) {
+        this.foodId = foodId;
+        this.foodName = foodName;
+        this.totalQuantity = totalQuantity;
+        this.totalRevenue = totalRevenue;
+    }
+
+    // Getters
+    public int getFoodId() {
+        return foodId;
+    }
+
+    public String getFoodName() {
+        return foodName;
+    }
+
+    public int getTotalQuantity() {
+        return totalQuantity;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.foodorder.model;
+
+/**
+ * Lightweight projection of {@link Food} for list screens.
+ * Only carries the columns a list row displays.
+ */
+public class FoodSummary {
+    private int id;
+    private String name;
+    private String description;
+    private double price;
+    private double averageRating;
+
+    public FoodSummary(int id, String name, String description, double price, double averageRating) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.averageRating = averageRating;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.foodorder.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "messages")
+@Entity(tableName = "messages",
+        indices = {@Index(value = {"userId", "timestamp"})})
 public class Message {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -1,14 +1,22 @@
 package com.example.foodorder.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "orders")
+@Entity(tableName = "orders",
+        indices = {
+                @Index(value = {"userId", "timestamp"}),
+                @Index(value = {"userId", "status", "timestamp"}),
+                @Index(value = {"timestamp"})
+        })
 public class Order {
     @PrimaryKey(autoGenerate = true)
     private int id;
     private int userId;
-    private String orderItems; // JSON string of items
+    // Legacy JSON of the items, only read by MIGRATION_7_8 to fill order_items;
+    // orders placed since then leave it null
+    private String orderItems;
     private double totalAmount;
     private String deliveryAddress;
     private String paymentMethod;
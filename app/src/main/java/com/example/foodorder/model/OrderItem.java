@@ -0,0 +1,86 @@
+package com.example.foodorder.model;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "order_items",
+        foreignKeys = {@ForeignKey(entity = Order.class,
+                parentColumns = "id",
+                childColumns = "orderId",
+                onDelete = ForeignKey.CASCADE)},
+        indices = {
+                @Index(value = {"orderId"}),
+                @Index(value = {"foodId", "orderId"})
+        })
+public class OrderItem {
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+    private int orderId;
+    private int foodId;
+    private String foodName;
+    private double price; // Unit price at the time of the order
+    private int quantity;
+
+    public OrderItem(int orderId, int foodId, String foodName, double price, int quantity) {
+        this.orderId = orderId;
+        this.foodId = foodId;
+        this.foodName = foodName;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public int getFoodId() {
+        return foodId;
+    }
+
+    public void setFoodId(int foodId) {
+        this.foodId = foodId;
+    }
+
+    public String getFoodName() {
+        return foodName;
+    }
+
+    public void setFoodName(String foodName) {
+        this.foodName = foodName;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getSubtotal() {
+        return price * quantity;
+    }
+}
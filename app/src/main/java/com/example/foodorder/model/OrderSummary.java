@@ -0,0 +1,42 @@
+package com.example.foodorder.model;
+
+/**
+ * Row of the order history list: the order columns it shows plus a one-line
+ * summary of its items from order_items, e.g. "2x Margherita Pizza, 1x Iced Coffee".
+ */
+public class OrderSummary {
+    private int id;
+    private String status;
+    private double totalAmount;
+    private long timestamp;
+    private String itemsSummary;
+
+    public OrderSummary(int id, String status, double totalAmount, long timestamp, String itemsSummary) {
+        this.id = id;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.timestamp = timestamp;
+        this.itemsSummary = itemsSummary;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getItemsSummary() {
+        return itemsSummary;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.foodorder.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "reviews")
+@Entity(tableName = "reviews",
+        indices = {
+                @Index(value = {"foodId", "timestamp"}),
+                @Index(value = {"userId", "foodId"})
+        })
 public class Review {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -0,0 +1,41 @@
+package com.example.foodorder.model;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * The account signed in on this device. The table holds at most one row.
+ */
+@Entity(tableName = "sessions",
+        foreignKeys = {@ForeignKey(entity = User.class,
+                parentColumns = "id",
+                childColumns = "userId",
+                onDelete = ForeignKey.CASCADE)})
+public class Session {
+    @PrimaryKey
+    private int userId;
+    private long loginTime;
+
+    public Session(int userId, long loginTime) {
+        this.userId = userId;
+        this.loginTime = loginTime;
+    }
+
+    // Getters and Setters
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public long getLoginTime() {
+        return loginTime;
+    }
+
+    public void setLoginTime(long loginTime) {
+        this.loginTime = loginTime;
+    }
+}
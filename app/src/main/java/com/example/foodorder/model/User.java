@@ -1,9 +1,14 @@
 package com.example.foodorder.model;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
-@Entity(tableName = "users")
+@Entity(tableName = "users",
+        indices = {
+                @Index(value = {"email"}, unique = true),
+                @Index(value = {"username"}, unique = true)
+        })
 public class User {
     @PrimaryKey(autoGenerate = true)
     private int id;
@@ -12,7 +17,6 @@ public class User {
     private String password;
     private String phoneNumber;
     private String address;
-    private boolean isLoggedIn;
 
     public User(String username, String email, String password, String phoneNumber, String address) {
         this.username = username;
@@ -20,7 +24,6 @@ public class User {
         this.password = password;
         this.phoneNumber = phoneNumber;
         this.address = address;
-        this.isLoggedIn = false;
     }
 
     // Getters and Setters
@@ -71,12 +74,4 @@ public class User {
     public void setAddress(String address) {
         this.address = address;
     }
-
-    public boolean isLoggedIn() {
-        return isLoggedIn;
-    }
-
-    public void setLoggedIn(boolean loggedIn) {
-        isLoggedIn = loggedIn;
-    }
 }
@@ -0,0 +1,50 @@
+package com.example.foodorder.model;
+
+/**
+ * A named bucket of prices or preparation times from the catalog, e.g. "$10-$30"
+ */
+public class ValueRange {
+    private int id;
+    private String label;
+    private double min;
+    private double max;
+
+    public ValueRange(int id, String label, double min, double max) {
+        this.id = id;
+        this.label = label;
+        this.min = min;
+        this.max = max;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public void setMin(double min) {
+        this.min = min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public void setMax(double max) {
+        this.max = max;
+    }
+}
@@ -7,35 +7,70 @@ import androidx.lifecycle.LiveData;
 import com.example.foodorder.dao.CartItemDao;
 import com.example.foodorder.database.AppDatabase;
 import com.example.foodorder.model.CartItem;
+import com.example.foodorder.utils.AppExecutors;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
 
 public class CartRepository {
+    private static CartRepository instance;
+
     private CartItemDao cartItemDao;
-    private ExecutorService executorService;
+    private AppExecutors executors;
+    // One observed query per user, shared by every screen showing that user's cart
+    private final Map<Integer, LiveData<List<CartItem>>> cartItemsByUser = new HashMap<>();
+    private final Map<Integer, LiveData<Integer>> cartItemCountByUser = new HashMap<>();
+    private final Map<Integer, LiveData<Double>> cartTotalByUser = new HashMap<>();
+
+    public static synchronized CartRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new CartRepository(application);
+        }
+        return instance;
+    }
 
-    public CartRepository(Application application) {
+    private CartRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         cartItemDao = database.cartItemDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executors = AppExecutors.getInstance();
     }
 
     public void insert(CartItem cartItem) {
-        executorService.execute(() -> cartItemDao.insert(cartItem));
+        executors.diskWrite().execute(() -> cartItemDao.insert(cartItem));
+    }
+
+    /**
+     * Add cartItem's quantity to the user's cart, merging with an existing row for the same food.
+     * The listener is called on a background thread once the row is written.
+     */
+    public void addToCart(CartItem cartItem, OnCartUpdatedListener listener) {
+        executors.diskWrite().execute(() -> {
+            cartItemDao.addToCart(cartItem.getUserId(), cartItem.getFoodId(), cartItem.getFoodName(),
+                    cartItem.getFoodPrice(), cartItem.getFoodImageUrl(), cartItem.getQuantity());
+            if (listener != null) {
+                listener.onCartUpdated();
+            }
+        });
     }
 
     public void update(CartItem cartItem) {
-        executorService.execute(() -> cartItemDao.update(cartItem));
+        executors.diskWrite().execute(() -> cartItemDao.update(cartItem));
+    }
+
+    /**
+     * @param quantities cart item id -> new quantity, written in a single transaction
+     */
+    public void updateQuantities(Map<Integer, Integer> quantities) {
+        executors.diskWrite().execute(() -> cartItemDao.updateQuantities(quantities));
     }
 
     public void delete(CartItem cartItem) {
-        executorService.execute(() -> cartItemDao.delete(cartItem));
+        executors.diskWrite().execute(() -> cartItemDao.delete(cartItem));
     }
 
     public void getCartItem(int userId, int foodId, OnCartItemFetchListener listener) {
-        executorService.execute(() -> {
+        executors.diskRead().execute(() -> {
             CartItem cartItem = cartItemDao.getCartItem(userId, foodId);
             if (listener != null) {
                 listener.onCartItemFetched(cartItem);
@@ -43,23 +78,42 @@ public class CartRepository {
         });
     }
 
-    public LiveData<List<CartItem>> getCartItemsByUserId(int userId) {
-        return cartItemDao.getCartItemsByUserId(userId);
+    public synchronized LiveData<List<CartItem>> getCartItemsByUserId(int userId) {
+        LiveData<List<CartItem>> cartItems = cartItemsByUser.get(userId);
+        if (cartItems == null) {
+            cartItems = cartItemDao.getCartItemsByUserId(userId);
+            cartItemsByUser.put(userId, cartItems);
+        }
+        return cartItems;
     }
 
     public void clearCart(int userId) {
-        executorService.execute(() -> cartItemDao.clearCart(userId));
+        executors.diskWrite().execute(() -> cartItemDao.clearCart(userId));
     }
 
-    public LiveData<Integer> getCartItemCount(int userId) {
-        return cartItemDao.getCartItemCount(userId);
+    public synchronized LiveData<Integer> getCartItemCount(int userId) {
+        LiveData<Integer> count = cartItemCountByUser.get(userId);
+        if (count == null) {
+            count = cartItemDao.getCartItemCount(userId);
+            cartItemCountByUser.put(userId, count);
+        }
+        return count;
     }
 
-    public LiveData<Double> getCartTotal(int userId) {
-        return cartItemDao.getCartTotal(userId);
+    public synchronized LiveData<Double> getCartTotal(int userId) {
+        LiveData<Double> total = cartTotalByUser.get(userId);
+        if (total == null) {
+            total = cartItemDao.getCartTotal(userId);
+            cartTotalByUser.put(userId, total);
+        }
+        return total;
     }
 
     public interface OnCartItemFetchListener {
         void onCartItemFetched(CartItem cartItem);
     }
+
+    public interface OnCartUpdatedListener {
+        void onCartUpdated();
+    }
 }
@@ -1,60 +1,180 @@
 package com.example.foodorder.repository;
 
 import android.app.Application;
+import android.database.sqlite.SQLiteException;
+import android.util.Log;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
 
 import com.example.foodorder.dao.FoodDao;
 import com.example.foodorder.database.AppDatabase;
 import com.example.foodorder.model.Food;
+import com.example.foodorder.model.FoodSummary;
+import com.example.foodorder.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Locale;
+
+import kotlin.jvm.functions.Function0;
 
 public class FoodRepository {
+    private static final String TAG = "FoodRepository";
+    public static final int DEFAULT_BATCH_SIZE = 200;
+
+    private static FoodRepository instance;
+
+    private AppDatabase database;
     private FoodDao foodDao;
-    private ExecutorService executorService;
+    private AppExecutors executors;
+    private LiveData<List<Food>> allFoods;
+    private LiveData<List<String>> allCategories;
+
+    public static synchronized FoodRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new FoodRepository(application);
+        }
+        return instance;
+    }
 
-    public FoodRepository(Application application) {
-        AppDatabase database = AppDatabase.getInstance(application);
+    private FoodRepository(Application application) {
+        database = AppDatabase.getInstance(application);
         foodDao = database.foodDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executors = AppExecutors.getInstance();
     }
 
     public void insert(Food food) {
-        executorService.execute(() -> foodDao.insert(food));
+        executors.diskWrite().execute(() -> foodDao.insert(food));
+    }
+
+    public void insertAll(List<Food> foods, OnBatchInsertListener listener) {
+        insertAll(foods, DEFAULT_BATCH_SIZE, listener);
+    }
+
+    /**
+     * Insert foods in chunks of batchSize rows, one transaction per chunk, so a large
+     * import pays one commit per chunk instead of one per row.
+     * If a chunk fails it is retried row by row to find and report the failing items.
+     */
+    public void insertAll(List<Food> foods, int batchSize, OnBatchInsertListener listener) {
+        executors.bulkWrite().execute(() -> {
+            int total = foods.size();
+            int insertedCount = 0;
+            for (int start = 0; start < total; start += batchSize) {
+                List<Food> chunk = foods.subList(start, Math.min(start + batchSize, total));
+                try {
+                    foodDao.insertAll(chunk);
+                    insertedCount += chunk.size();
+                } catch (SQLiteException e) {
+                    Log.w(TAG, "Batch insert failed, retrying rows " + start + ".." + (start + chunk.size() - 1), e);
+                    insertedCount += insertRowByRow(chunk, start, listener);
+                }
+                if (listener != null) {
+                    listener.onProgress(start + chunk.size(), total);
+                }
+            }
+            if (listener != null) {
+                listener.onComplete(insertedCount, total - insertedCount);
+            }
+        });
+    }
+
+    private int insertRowByRow(List<Food> chunk, int offset, OnBatchInsertListener listener) {
+        int[] insertedCount = {0};
+        database.runInTransaction(() -> {
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    foodDao.insert(chunk.get(i));
+                    insertedCount[0]++;
+                } catch (SQLiteException e) {
+                    if (listener != null) {
+                        listener.onItemFailed(offset + i, chunk.get(i), e);
+                    }
+                }
+            }
+        });
+        return insertedCount[0];
     }
 
     public void update(Food food) {
-        executorService.execute(() -> foodDao.update(food));
+        executors.diskWrite().execute(() -> foodDao.update(food));
     }
 
     public void delete(Food food) {
-        executorService.execute(() -> foodDao.delete(food));
+        executors.diskWrite().execute(() -> foodDao.delete(food));
     }
 
     public LiveData<Food> getFoodById(int foodId) {
         return foodDao.getFoodById(foodId);
     }
 
-    public LiveData<List<Food>> getAllFoods() {
-        return foodDao.getAllFoods();
+    public synchronized LiveData<List<Food>> getAllFoods() {
+        if (allFoods == null) {
+            allFoods = foodDao.getAllFoods();
+        }
+        return allFoods;
+    }
+
+    public LiveData<PagingData<FoodSummary>> getPagedFoodSummaries() {
+        return page(() -> foodDao.getPagedFoodSummaries());
+    }
+
+    public LiveData<PagingData<FoodSummary>> getPagedFoodSummariesByCategory(String category) {
+        return page(() -> foodDao.getPagedFoodSummariesByCategory(category));
+    }
+
+    public LiveData<PagingData<FoodSummary>> searchPagedFoodSummaries(String searchQuery) {
+        String matchQuery = toFtsMatchQuery(searchQuery);
+        if (matchQuery.isEmpty()) {
+            return page(() -> foodDao.searchPagedFoodSummaries(searchQuery));
+        }
+        return page(() -> new FoodSearchPagingSource(database, matchQuery, executors.diskRead()));
+    }
+
+    private LiveData<PagingData<FoodSummary>> page(
+            Function0<PagingSource<Integer, FoodSummary>> pagingSourceFactory) {
+        Pager<Integer, FoodSummary> pager = new Pager<>(
+                ListPaging.config(),
+                pagingSourceFactory);
+        return PagingLiveData.getLiveData(pager);
     }
 
-    public LiveData<List<Food>> getFoodsByCategory(String category) {
-        return foodDao.getFoodsByCategory(category);
+    public LiveData<List<FoodSummary>> getAvailableFoodSummaries() {
+        return foodDao.getAvailableFoodSummaries();
     }
 
-    public LiveData<List<Food>> searchFoods(String searchQuery) {
-        return foodDao.searchFoods(searchQuery);
+    public synchronized LiveData<List<String>> getAllCategories() {
+        if (allCategories == null) {
+            allCategories = foodDao.getAllCategories();
+        }
+        return allCategories;
     }
 
-    public LiveData<List<Food>> getAvailableFoods() {
-        return foodDao.getAvailableFoods();
+    /**
+     * Turns free text into a prefix MATCH expression, e.g. "Marg piz" -> "marg*" "piz*".
+     * Punctuation is dropped and every token is quoted, so words like "and" or "not" are
+     * searched for rather than read as FTS operators.
+     */
+    static String toFtsMatchQuery(String searchQuery) {
+        StringBuilder matchQuery = new StringBuilder();
+        for (String token : searchQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (matchQuery.length() > 0) {
+                matchQuery.append(' ');
+            }
+            matchQuery.append('"').append(token).append("*\"");
+        }
+        return matchQuery.toString();
     }
 
-    public LiveData<List<String>> getAllCategories() {
-        return foodDao.getAllCategories();
+    public interface OnBatchInsertListener {
+        void onProgress(int processedCount, int totalCount);
+        void onItemFailed(int index, Food food, Exception error);
+        void onComplete(int insertedCount, int failedCount);
     }
 }
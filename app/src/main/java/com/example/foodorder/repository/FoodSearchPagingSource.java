@@ -0,0 +1,135 @@
+package com.example.foodorder.repository;
+
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+
+import com.example.foodorder.dao.FoodDao;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.FoodSummary;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kotlin.Unit;
+
+/**
+ * Pages full-text search results in relevance order. The first load ranks every hit once
+ * with {@link FoodSearchRanker}; each page then fetches only its own slice of food ids.
+ * Like Room's own paging sources, it is invalidated by any write to foods.
+ */
+class FoodSearchPagingSource extends ListenableFuturePagingSource<Integer, FoodSummary> {
+    private final AppDatabase database;
+    private final FoodDao foodDao;
+    private final String matchQuery;
+    private final Executor executor;
+    private final AtomicBoolean observing = new AtomicBoolean();
+    private final InvalidationTracker.Observer observer = new InvalidationTracker.Observer("foods") {
+        @Override
+        public void onInvalidated(@NonNull Set<String> tables) {
+            invalidate();
+        }
+    };
+    private int[] rankedIds;
+
+    FoodSearchPagingSource(AppDatabase database, String matchQuery, Executor executor) {
+        this.database = database;
+        this.foodDao = database.foodDao();
+        this.matchQuery = matchQuery;
+        this.executor = executor;
+        registerInvalidatedCallback(() -> {
+            database.getInvalidationTracker().removeObserver(observer);
+            return Unit.INSTANCE;
+        });
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Integer, FoodSummary>> loadFuture(@NonNull LoadParams<Integer> params) {
+        ListenableFutureTask<LoadResult<Integer, FoodSummary>> task = ListenableFutureTask.create(() -> load(params));
+        executor.execute(task);
+        return task;
+    }
+
+    private LoadResult<Integer, FoodSummary> load(LoadParams<Integer> params) {
+        // Registered off the main thread, since adding an observer may touch the database
+        if (observing.compareAndSet(false, true)) {
+            database.getInvalidationTracker().addObserver(observer);
+        }
+        int[] ids;
+        try {
+            ids = getRankedIds();
+        } catch (SQLiteException e) {
+            return new LoadResult.Error<>(e);
+        }
+
+        Integer key = params.getKey();
+        int start = key == null ? 0 : key;
+        int end;
+        if (params instanceof LoadParams.Prepend) {
+            end = Math.min(start, ids.length);
+            start = Math.max(0, start - params.getLoadSize());
+        } else {
+            start = Math.min(start, ids.length);
+            end = Math.min(ids.length, start + params.getLoadSize());
+        }
+
+        List<FoodSummary> page;
+        try {
+            page = loadSlice(ids, start, end);
+        } catch (SQLiteException e) {
+            return new LoadResult.Error<>(e);
+        }
+        if (isInvalid()) {
+            return new LoadResult.Invalid<>();
+        }
+        return new LoadResult.Page<>(page,
+                start > 0 ? start : null,
+                end < ids.length ? end : null,
+                start, ids.length - end);
+    }
+
+    private synchronized int[] getRankedIds() {
+        if (rankedIds == null) {
+            rankedIds = FoodSearchRanker.rank(foodDao.getFtsMatches(matchQuery));
+        }
+        return rankedIds;
+    }
+
+    private List<FoodSummary> loadSlice(int[] ids, int start, int end) {
+        List<Integer> sliceIds = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            sliceIds.add(ids[i]);
+        }
+        Map<Integer, FoodSummary> byId = new HashMap<>();
+        for (FoodSummary summary : foodDao.getFoodSummariesByIds(sliceIds)) {
+            byId.put(summary.getId(), summary);
+        }
+        List<FoodSummary> page = new ArrayList<>(sliceIds.size());
+        for (Integer id : sliceIds) {
+            FoodSummary summary = byId.get(id);
+            if (summary != null) {
+                page.add(summary);
+            }
+        }
+        return page;
+    }
+
+    @Nullable
+    @Override
+    public Integer getRefreshKey(@NonNull PagingState<Integer, FoodSummary> state) {
+        Integer anchor = state.getAnchorPosition();
+        return anchor == null ? null : Math.max(0, anchor - state.getConfig().initialLoadSize / 2);
+    }
+}
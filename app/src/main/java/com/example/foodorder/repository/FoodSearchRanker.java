@@ -0,0 +1,87 @@
+package com.example.foodorder.repository;
+
+import com.example.foodorder.model.FoodMatch;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Orders foods_fts hits by BM25F, computed from matchinfo(foods_fts, 'pcnalx'): per-column
+ * hit counts are length-normalized, weighted by column (name counts most) and combined
+ * before saturation, the same scoring the chatbot's in-memory index uses.
+ */
+final class FoodSearchRanker {
+    // foods_fts column order: name, description, ingredients, category
+    private static final float[] COLUMN_WEIGHTS = {3.0f, 1.0f, 1.5f, 2.0f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private FoodSearchRanker() {
+    }
+
+    /**
+     * @return food ids of the matches, best first; equal scores keep id order
+     */
+    static int[] rank(List<FoodMatch> matches) {
+        int count = matches.size();
+        float[] scores = new float[count];
+        for (int i = 0; i < count; i++) {
+            scores[i] = score(matches.get(i).getMatchInfo());
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore
+                    : Integer.compare(matches.get(a).getDocid(), matches.get(b).getDocid());
+        });
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = matches.get(order[i]).getDocid();
+        }
+        return ids;
+    }
+
+    /**
+     * BM25F score of one row. The 'pcnalx' blob holds native-order 32-bit counts:
+     * phrases p, columns c, rows n, average tokens per column (c values), tokens in this
+     * row per column (c values), then per phrase and column: hits in this row, hits in
+     * all rows, rows with a hit.
+     */
+    static float score(byte[] matchInfo) {
+        ByteBuffer buffer = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buffer.getInt(0);
+        int columns = buffer.getInt(4);
+        long rows = buffer.getInt(8) & 0xffffffffL;
+        int averageOffset = 3;
+        int lengthOffset = averageOffset + columns;
+        int hitsOffset = lengthOffset + columns;
+
+        float score = 0;
+        for (int p = 0; p < phrases; p++) {
+            float weight = 0;
+            long docFrequency = 0;
+            for (int c = 0; c < columns; c++) {
+                int hits = hitsOffset + 3 * (p * columns + c);
+                long rowHits = buffer.getInt(4 * hits) & 0xffffffffL;
+                // A row matching in several columns is counted once per column, so the
+                // largest per-column count is the closest available document frequency
+                docFrequency = Math.max(docFrequency, buffer.getInt(4 * (hits + 2)) & 0xffffffffL);
+                if (rowHits == 0) {
+                    continue;
+                }
+                float average = Math.max(1, buffer.getInt(4 * (averageOffset + c)));
+                float length = buffer.getInt(4 * (lengthOffset + c));
+                float columnWeight = c < COLUMN_WEIGHTS.length ? COLUMN_WEIGHTS[c] : 1.0f;
+                weight += columnWeight * rowHits / (1 - B + B * length / average);
+            }
+            float idf = (float) Math.log(1 + (rows - docFrequency + 0.5) / (docFrequency + 0.5));
+            score += idf * weight / (K1 + weight);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.foodorder.repository;
+
+import androidx.paging.PagingConfig;
+
+/**
+ * Paging settings shared by every paged list, so the food list and order history
+ * load and drop pages the same way.
+ */
+final class ListPaging {
+    static final int PAGE_SIZE = 20;
+    // Pages beyond this many rows are dropped and reloaded when scrolled back to, so memory
+    // stays flat however far the list is scrolled; must be >= PAGE_SIZE + 2 * prefetch distance
+    static final int MAX_LOADED_ROWS = PAGE_SIZE * 5;
+
+    private ListPaging() {
+    }
+
+    static PagingConfig config() {
+        return new PagingConfig(PAGE_SIZE, PAGE_SIZE, false, PAGE_SIZE * 3, MAX_LOADED_ROWS);
+    }
+}
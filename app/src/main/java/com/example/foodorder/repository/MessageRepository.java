@@ -7,23 +7,31 @@ import androidx.lifecycle.LiveData;
 import com.example.foodorder.dao.MessageDao;
 import com.example.foodorder.database.AppDatabase;
 import com.example.foodorder.model.Message;
+import com.example.foodorder.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class MessageRepository {
+    private static MessageRepository instance;
+
     private MessageDao messageDao;
-    private ExecutorService executorService;
+    private AppExecutors executors;
+
+    public static synchronized MessageRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new MessageRepository(application);
+        }
+        return instance;
+    }
 
-    public MessageRepository(Application application) {
+    private MessageRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         messageDao = database.messageDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executors = AppExecutors.getInstance();
     }
 
     public void insert(Message message) {
-        executorService.execute(() -> messageDao.insert(message));
+        executors.diskWrite().execute(() -> messageDao.insert(message));
     }
 
     public LiveData<List<Message>> getMessagesByUserId(int userId) {
@@ -31,10 +39,10 @@ public class MessageRepository {
     }
 
     public void updateMessageStatus(int messageId, String status) {
-        executorService.execute(() -> messageDao.updateMessageStatus(messageId, status));
+        executors.diskWrite().execute(() -> messageDao.updateMessageStatus(messageId, status));
     }
 
     public void clearMessages(int userId) {
-        executorService.execute(() -> messageDao.clearMessages(userId));
+        executors.diskWrite().execute(() -> messageDao.clearMessages(userId));
     }
 }
@@ -3,42 +3,58 @@ package com.example.foodorder.repository;
 import android.app.Application;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.example.foodorder.dao.OrderDao;
+import com.example.foodorder.dao.OrderItemDao;
 import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.FoodSales;
 import com.example.foodorder.model.Order;
+import com.example.foodorder.model.OrderItem;
+import com.example.foodorder.model.OrderSummary;
+import com.example.foodorder.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class OrderRepository {
+
+    private static OrderRepository instance;
+
     private OrderDao orderDao;
-    private ExecutorService executorService;
+    private OrderItemDao orderItemDao;
+    private AppExecutors executors;
 
-    public OrderRepository(Application application) {
-        AppDatabase database = AppDatabase.getInstance(application);
-        orderDao = database.orderDao();
-        executorService = Executors.newSingleThreadExecutor();
+    public static synchronized OrderRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new OrderRepository(application);
+        }
+        return instance;
     }
 
-    public void insert(Order order, OnOrderInsertedListener listener) {
-        executorService.execute(() -> {
-            long orderId = orderDao.insert(order);
-            if (listener != null) {
-                listener.onOrderInserted(orderId);
-            }
-        });
+    private OrderRepository(Application application) {
+        AppDatabase database = AppDatabase.getInstance(application);
+        orderDao = database.orderDao();
+        orderItemDao = database.orderItemDao();
+        executors = AppExecutors.getInstance();
     }
 
     public void update(Order order) {
-        executorService.execute(() -> orderDao.update(order));
+        executors.diskWrite().execute(() -> orderDao.update(order));
     }
 
     public LiveData<List<Order>> getOrdersByUserId(int userId) {
         return orderDao.getOrdersByUserId(userId);
     }
 
+    public LiveData<PagingData<OrderSummary>> getPagedOrderSummariesByUserId(int userId) {
+        Pager<Integer, OrderSummary> pager = new Pager<>(
+                ListPaging.config(),
+                () -> orderDao.getPagedOrderSummariesByUserId(userId));
+        return PagingLiveData.getLiveData(pager);
+    }
+
     public LiveData<Order> getOrderById(int orderId) {
         return orderDao.getOrderById(orderId);
     }
@@ -47,7 +63,11 @@ public class OrderRepository {
         return orderDao.getOrdersByStatus(userId, status);
     }
 
-    public interface OnOrderInsertedListener {
-        void onOrderInserted(long orderId);
+    public LiveData<List<OrderItem>> getItemsByOrderId(int orderId) {
+        return orderItemDao.getItemsByOrderId(orderId);
+    }
+
+    public LiveData<List<FoodSales>> getFoodSalesBetween(long fromTimestamp, long toTimestamp) {
+        return orderItemDao.getFoodSalesBetween(fromTimestamp, toTimestamp);
     }
 }
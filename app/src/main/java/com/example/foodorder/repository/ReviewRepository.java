@@ -7,23 +7,31 @@ import androidx.lifecycle.LiveData;
 import com.example.foodorder.dao.ReviewDao;
 import com.example.foodorder.database.AppDatabase;
 import com.example.foodorder.model.Review;
+import com.example.foodorder.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class ReviewRepository {
+    private static ReviewRepository instance;
+
     private ReviewDao reviewDao;
-    private ExecutorService executorService;
+    private AppExecutors executors;
+
+    public static synchronized ReviewRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new ReviewRepository(application);
+        }
+        return instance;
+    }
 
-    public ReviewRepository(Application application) {
+    private ReviewRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         reviewDao = database.reviewDao();
-        executorService = Executors.newSingleThreadExecutor();
+        executors = AppExecutors.getInstance();
     }
 
     public void insert(Review review) {
-        executorService.execute(() -> reviewDao.insert(review));
+        executors.diskWrite().execute(() -> reviewDao.insertAndUpdateRating(review));
     }
 
     public LiveData<List<Review>> getReviewsByFoodId(int foodId) {
@@ -39,7 +47,7 @@ public class ReviewRepository {
     }
 
     public void getUserReviewForFood(int userId, int foodId, OnReviewFetchListener listener) {
-        executorService.execute(() -> {
+        executors.diskRead().execute(() -> {
             List<Review> reviews = reviewDao.getUserReviewForFood(userId, foodId);
             if (listener != null) {
                 listener.onReviewFetched(reviews);
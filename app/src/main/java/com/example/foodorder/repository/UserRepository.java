@@ -4,26 +4,37 @@ import android.app.Application;
 
 import androidx.lifecycle.LiveData;
 
+import com.example.foodorder.dao.SessionDao;
 import com.example.foodorder.dao.UserDao;
 import com.example.foodorder.database.AppDatabase;
 import com.example.foodorder.model.User;
+import com.example.foodorder.utils.AppExecutors;
 
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class UserRepository {
+    private static UserRepository instance;
+
     private UserDao userDao;
-    private ExecutorService executorService;
+    private SessionDao sessionDao;
+    private AppExecutors executors;
+
+    public static synchronized UserRepository getInstance(Application application) {
+        if (instance == null) {
+            instance = new UserRepository(application);
+        }
+        return instance;
+    }
 
-    public UserRepository(Application application) {
+    private UserRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         userDao = database.userDao();
-        executorService = Executors.newSingleThreadExecutor();
+        sessionDao = database.sessionDao();
+        executors = AppExecutors.getInstance();
     }
 
     public void insert(User user, OnUserInsertedListener listener) {
-        executorService.execute(() -> {
+        executors.diskWrite().execute(() -> {
             long id = userDao.insert(user);
             if (listener != null) {
                 listener.onUserInserted(id);
@@ -31,12 +42,25 @@ public class UserRepository {
         });
     }
 
+    /**
+     * Create the account if the email and username are free.
+     * The listener gets the new user id, or {@link UserDao#EMAIL_TAKEN} / {@link UserDao#USERNAME_TAKEN}.
+     */
+    public void register(User user, OnUserInsertedListener listener) {
+        executors.diskWrite().execute(() -> {
+            long result = userDao.register(user);
+            if (listener != null) {
+                listener.onUserInserted(result);
+            }
+        });
+    }
+
     public void update(User user) {
-        executorService.execute(() -> userDao.update(user));
+        executors.diskWrite().execute(() -> userDao.update(user));
     }
 
     public void login(String email, String password, OnLoginListener listener) {
-        executorService.execute(() -> {
+        executors.diskRead().execute(() -> {
             User user = userDao.login(email, password);
             if (listener != null) {
                 listener.onLoginResult(user);
@@ -45,7 +69,7 @@ public class UserRepository {
     }
 
     public void getUserByEmail(String email, OnUserFetchListener listener) {
-        executorService.execute(() -> {
+        executors.diskRead().execute(() -> {
             User user = userDao.getUserByEmail(email);
             if (listener != null) {
                 listener.onUserFetched(user);
@@ -54,7 +78,7 @@ public class UserRepository {
     }
 
     public void getUserByUsername(String username, OnUserFetchListener listener) {
-        executorService.execute(() -> {
+        executors.diskRead().execute(() -> {
             User user = userDao.getUserByUsername(username);
             if (listener != null) {
                 listener.onUserFetched(user);
@@ -63,18 +87,14 @@ public class UserRepository {
     }
 
     public void getLoggedInUser(OnUserFetchListener listener) {
-        executorService.execute(() -> {
-            User user = userDao.getLoggedInUser();
+        executors.diskRead().execute(() -> {
+            User user = sessionDao.getSessionUser();
             if (listener != null) {
                 listener.onUserFetched(user);
             }
         });
     }
 
-    public void logoutAllUsers() {
-        executorService.execute(() -> userDao.logoutAllUsers());
-    }
-
     public LiveData<List<User>> getAllUsers() {
         return userDao.getAllUsers();
     }
@@ -0,0 +1,229 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Food;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Inverted index over the foods of one catalog snapshot, scored with BM25F: per-field term
+ * frequencies are length-normalized, weighted by field (name counts most) and combined before
+ * saturation. A query only visits the postings of its own terms, not the whole food list.
+ * Foods are identified by their position in the snapshot's food list.
+ */
+final class CatalogSearchIndex {
+    static final int FIELD_NAME = 1;
+    static final int FIELD_DESCRIPTION = 1 << 1;
+    static final int FIELD_INGREDIENTS = 1 << 2;
+    static final int FIELD_CATEGORY = 1 << 3;
+
+    private static final int[] FIELDS = {FIELD_NAME, FIELD_DESCRIPTION, FIELD_INGREDIENTS, FIELD_CATEGORY};
+    private static final float[] FIELD_WEIGHTS = {3.0f, 1.0f, 1.5f, 2.0f};
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Filler words in chat queries that say nothing about the food
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "any", "are", "can", "do", "dish", "dishes", "food", "foods", "for", "get",
+            "give", "have", "i", "in", "is", "like", "me", "of", "on", "or", "order", "please", "show",
+            "some", "something", "the", "to", "want", "what", "with", "would", "you"));
+
+    private final List<Food> foods;
+    // Sorted, so terms sharing a prefix are contiguous
+    private final String[] terms;
+    private final Map<String, Integer> termIds;
+    private final int[][] postingDocs;
+    // Field-weighted, length-normalized term frequency per posting; independent of the query
+    private final float[][] postingWeights;
+    // FIELD_* bits of the fields the term occurs in, per posting
+    private final byte[][] postingFields;
+    private final float[] idf;
+
+    CatalogSearchIndex(List<Food> foods) {
+        this.foods = foods;
+        int docCount = foods.size();
+
+        List<List<String>> fieldTokens = new ArrayList<>(docCount * FIELDS.length);
+        float[] averageLengths = new float[FIELDS.length];
+        for (Food food : foods) {
+            String[] texts = {food.getName(), food.getDescription(), food.getIngredients(), food.getCategory()};
+            for (int f = 0; f < FIELDS.length; f++) {
+                List<String> tokens = tokenize(texts[f]);
+                fieldTokens.add(tokens);
+                averageLengths[f] += tokens.size();
+            }
+        }
+        for (int f = 0; f < FIELDS.length; f++) {
+            averageLengths[f] = docCount == 0 ? 1 : Math.max(1, averageLengths[f] / docCount);
+        }
+
+        // term -> (doc -> weight, fields), filled in doc order so postings come out sorted
+        Map<String, PostingBuilder> builders = new HashMap<>();
+        for (int doc = 0; doc < docCount; doc++) {
+            Map<String, float[]> docTermWeights = new HashMap<>();
+            Map<String, Integer> docTermFields = new HashMap<>();
+            for (int f = 0; f < FIELDS.length; f++) {
+                List<String> tokens = fieldTokens.get(doc * FIELDS.length + f);
+                float lengthNorm = 1 - B + B * tokens.size() / averageLengths[f];
+                for (String token : tokens) {
+                    float[] weight = docTermWeights.get(token);
+                    if (weight == null) {
+                        weight = new float[1];
+                        docTermWeights.put(token, weight);
+                    }
+                    weight[0] += FIELD_WEIGHTS[f] / lengthNorm;
+                    Integer fields = docTermFields.get(token);
+                    docTermFields.put(token, (fields == null ? 0 : fields) | FIELDS[f]);
+                }
+            }
+            for (Map.Entry<String, float[]> entry : docTermWeights.entrySet()) {
+                PostingBuilder builder = builders.get(entry.getKey());
+                if (builder == null) {
+                    builder = new PostingBuilder();
+                    builders.put(entry.getKey(), builder);
+                }
+                builder.add(doc, entry.getValue()[0], docTermFields.get(entry.getKey()));
+            }
+        }
+
+        terms = builders.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        termIds = new HashMap<>(terms.length * 2);
+        postingDocs = new int[terms.length][];
+        postingWeights = new float[terms.length][];
+        postingFields = new byte[terms.length][];
+        idf = new float[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            PostingBuilder builder = builders.get(terms[t]);
+            termIds.put(terms[t], t);
+            postingDocs[t] = Arrays.copyOf(builder.docs, builder.size);
+            postingWeights[t] = Arrays.copyOf(builder.weights, builder.size);
+            postingFields[t] = Arrays.copyOf(builder.fields, builder.size);
+            int df = builder.size;
+            idf[t] = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    boolean containsTerm(String term) {
+        return termIds.containsKey(term);
+    }
+
+    /**
+     * @return positions of up to limit best-scoring foods for the query, best first
+     */
+    List<Integer> search(String query, int limit) {
+        Map<Integer, float[]> scores = new HashMap<>();
+        for (String token : new HashSet<>(tokenize(query))) {
+            Integer termId = termIds.get(token);
+            if (termId == null) {
+                continue;
+            }
+            int[] docs = postingDocs[termId];
+            float[] weights = postingWeights[termId];
+            for (int i = 0; i < docs.length; i++) {
+                float[] score = scores.get(docs[i]);
+                if (score == null) {
+                    score = new float[1];
+                    scores.put(docs[i], score);
+                }
+                score[0] += idf[termId] * weights[i] / (K1 + weights[i]);
+            }
+        }
+
+        // Keep the best `limit` in a min-heap; ties go to the food listed first
+        PriorityQueue<Map.Entry<Integer, float[]>> top = new PriorityQueue<>(Math.max(1, limit), (a, b) -> {
+            int byScore = Float.compare(a.getValue()[0], b.getValue()[0]);
+            return byScore != 0 ? byScore : Integer.compare(b.getKey(), a.getKey());
+        });
+        for (Map.Entry<Integer, float[]> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        Integer[] result = new Integer[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = top.poll().getKey();
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Positions of foods having, in the given field, a token starting with every token of
+     * phrase, in catalog order. Prefixes let "salad" also find "salads".
+     */
+    List<Integer> findByFieldPrefixes(String phrase, int field) {
+        Set<Integer> matching = null;
+        for (String token : tokenize(phrase)) {
+            Set<Integer> docs = new HashSet<>();
+            int from = lowerBound(token);
+            for (int t = from; t < terms.length && terms[t].startsWith(token); t++) {
+                for (int i = 0; i < postingDocs[t].length; i++) {
+                    if ((postingFields[t][i] & field) != 0) {
+                        docs.add(postingDocs[t][i]);
+                    }
+                }
+            }
+            if (matching == null) {
+                matching = docs;
+            } else {
+                matching.retainAll(docs);
+            }
+        }
+        if (matching == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>(matching);
+        Collections.sort(result);
+        return result;
+    }
+
+    Food getFood(int position) {
+        return foods.get(position);
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(terms, prefix);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static final class PostingBuilder {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        byte[] fields = new byte[4];
+        int size;
+
+        void add(int doc, float weight, int fieldBits) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            fields[size] = (byte) fieldBits;
+            size++;
+        }
+    }
+}
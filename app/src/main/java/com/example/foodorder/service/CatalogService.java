@@ -0,0 +1,288 @@
+package com.example.foodorder.service;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteException;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.room.InvalidationTracker;
+
+import com.example.foodorder.dao.FoodDao;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+import com.example.foodorder.model.Location;
+import com.example.foodorder.model.ValueRange;
+import com.example.foodorder.utils.AppExecutors;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single source of the food catalog for the whole app.
+ * Foods come from the Room foods table; categories and locations are reference data
+ * from assets/database.json. The current {@link CatalogSnapshot} is swapped atomically
+ * after the foods table changes; writes within {@link #RELOAD_DELAY_MS} of each other,
+ * such as an import's batches or a burst of reviews, lead to a single reload.
+ */
+public class CatalogService {
+    private static final String TAG = "CatalogService";
+    private static final String CATALOG_ASSET = "database.json";
+    static final long RELOAD_DELAY_MS = 500;
+    private static CatalogService instance;
+
+    private final Context context;
+    private final FoodDao foodDao;
+    private final AtomicBoolean reloadPending = new AtomicBoolean(false);
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<CatalogSnapshot> snapshotLiveData = new MutableLiveData<>();
+    private final List<OnSnapshotChangedListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private List<Category> categories;
+    private List<Location> locations;
+    private List<ValueRange> priceRanges;
+    private List<ValueRange> timeRanges;
+
+    private CatalogService(Context context) {
+        this.context = context.getApplicationContext();
+        AppDatabase database = AppDatabase.getInstance(this.context);
+        foodDao = database.foodDao();
+
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("foods") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                reload(RELOAD_DELAY_MS);
+            }
+        });
+        reload(0);
+    }
+
+    public static synchronized CatalogService getInstance(Context context) {
+        if (instance == null) {
+            instance = new CatalogService(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Current snapshot. Never blocks; returns an empty snapshot until the first load completes.
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public LiveData<CatalogSnapshot> getSnapshotLiveData() {
+        return snapshotLiveData;
+    }
+
+    /**
+     * Listeners are called on the loading thread, after the new snapshot is in place.
+     * Loads can overlap, so a listener may see snapshots out of order; compare versions.
+     */
+    public void addOnSnapshotChangedListener(OnSnapshotChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOnSnapshotChangedListener(OnSnapshotChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Schedule a reload after delayMs. Invalidations arriving while one is pending collapse into it.
+     */
+    private void reload(long delayMs) {
+        if (!reloadPending.compareAndSet(false, true)) {
+            return;
+        }
+        handler.postDelayed(() -> AppExecutors.getInstance().diskRead().execute(this::loadSnapshot), delayMs);
+    }
+
+    private void loadSnapshot() {
+        CatalogSnapshot newSnapshot;
+        synchronized (this) {
+            reloadPending.set(false);
+            if (categories == null) {
+                loadReferenceData();
+            }
+            List<Food> foods;
+            try {
+                foods = foodDao.getAllFoodsSync();
+            } catch (SQLiteException | IllegalStateException e) {
+                // Still publish, so whoever waits for a catalog gets an answer; keep the last foods known
+                Log.e(TAG, "Error loading foods", e);
+                foods = snapshot.getFoods();
+            }
+            long contentVersion = CatalogSnapshot.sameContent(snapshot.getFoods(), foods)
+                    ? snapshot.getContentVersion() : snapshot.getContentVersion() + 1;
+            newSnapshot = new CatalogSnapshot(snapshot.getVersion() + 1, contentVersion,
+                    foods, categories, locations, priceRanges, timeRanges);
+            snapshot = newSnapshot;
+            snapshotLiveData.postValue(newSnapshot);
+            Log.d(TAG, "Catalog loaded: " + foods.size() + " foods, "
+                    + categories.size() + " categories, " + locations.size() + " locations");
+        }
+        // Outside the lock: listeners may do heavy work, such as building the chatbot index
+        for (OnSnapshotChangedListener listener : listeners) {
+            listener.onSnapshotChanged(newSnapshot);
+        }
+    }
+
+    /**
+     * Load categories, locations and price and time ranges from assets. The file is streamed
+     * token by token into model objects; other sections such as Foods are skipped unparsed, so
+     * neither the file text nor a JSON tree is ever held in memory.
+     */
+    private void loadReferenceData() {
+        categories = new ArrayList<>();
+        locations = new ArrayList<>();
+        priceRanges = new ArrayList<>();
+        timeRanges = new ArrayList<>();
+
+        try (JsonReader reader = new JsonReader(new InputStreamReader(
+                context.getAssets().open(CATALOG_ASSET), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "Categories":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            categories.add(readCategory(reader));
+                        }
+                        reader.endArray();
+                        break;
+                    case "Locations":
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            locations.add(readLocation(reader));
+                        }
+                        reader.endArray();
+                        break;
+                    case "PriceRanges":
+                        readValueRanges(reader, priceRanges);
+                        break;
+                    case "TimeRanges":
+                        readValueRanges(reader, timeRanges);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            Log.e(TAG, "Error reading catalog JSON", e);
+        }
+    }
+
+    private static Category readCategory(JsonReader reader) throws IOException {
+        int id = 0;
+        String name = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "Id":
+                    id = reader.nextInt();
+                    break;
+                case "Name":
+                    name = nextString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new Category(id, name);
+    }
+
+    private static Location readLocation(JsonReader reader) throws IOException {
+        int id = 0;
+        String name = "";
+        String address = "";
+        String phone = "";
+        String hours = "";
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "Id":
+                    id = reader.nextInt();
+                    break;
+                case "Name":
+                    name = nextString(reader);
+                    break;
+                case "Address":
+                    address = nextString(reader);
+                    break;
+                case "Phone":
+                    phone = nextString(reader);
+                    break;
+                case "Hours":
+                    hours = nextString(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new Location(id, name, address, phone, hours);
+    }
+
+    private static void readValueRanges(JsonReader reader, List<ValueRange> ranges) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int id = 0;
+            String label = "";
+            double min = 0;
+            double max = Double.MAX_VALUE;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "Id":
+                        id = reader.nextInt();
+                        break;
+                    case "Range":
+                        label = nextString(reader);
+                        break;
+                    case "Min":
+                        min = reader.nextDouble();
+                        break;
+                    case "Max":
+                        max = reader.nextDouble();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            ranges.add(new ValueRange(id, label, min, max));
+        }
+        reader.endArray();
+    }
+
+    private static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return "";
+        }
+        return reader.nextString();
+    }
+
+    public interface OnSnapshotChangedListener {
+        void onSnapshotChanged(CatalogSnapshot snapshot);
+    }
+}
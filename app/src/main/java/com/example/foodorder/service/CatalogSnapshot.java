@@ -0,0 +1,111 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+import com.example.foodorder.model.Location;
+import com.example.foodorder.model.ValueRange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable view of the food catalog at one point in time.
+ * A new snapshot replaces the old one whenever the foods table changes; readers
+ * holding an older snapshot keep a consistent view. Do not mutate the contained objects.
+ */
+public final class CatalogSnapshot {
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, 0,
+            new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+    private final long version;
+    private final long contentVersion;
+    private final List<Food> foods;
+    private final List<Category> categories;
+    private final List<Location> locations;
+    private final List<ValueRange> priceRanges;
+    private final List<ValueRange> timeRanges;
+
+    CatalogSnapshot(long version, long contentVersion, List<Food> foods, List<Category> categories, List<Location> locations,
+                    List<ValueRange> priceRanges, List<ValueRange> timeRanges) {
+        this.version = version;
+        this.contentVersion = contentVersion;
+        this.foods = Collections.unmodifiableList(new ArrayList<>(foods));
+        this.categories = Collections.unmodifiableList(new ArrayList<>(categories));
+        this.locations = Collections.unmodifiableList(new ArrayList<>(locations));
+        this.priceRanges = Collections.unmodifiableList(new ArrayList<>(priceRanges));
+        this.timeRanges = Collections.unmodifiableList(new ArrayList<>(timeRanges));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Changes only when a food field the chatbot indexes or answers from changes, so a new
+     * rating or image alone does not require rebuilding the chatbot's indexes.
+     */
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public List<Food> getFoods() {
+        return foods;
+    }
+
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    public List<Location> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Price buckets from the catalog asset, cheapest first as listed there
+     */
+    public List<ValueRange> getPriceRanges() {
+        return priceRanges;
+    }
+
+    /**
+     * Preparation time buckets in minutes, quickest first as listed there
+     */
+    public List<ValueRange> getTimeRanges() {
+        return timeRanges;
+    }
+
+    public boolean isEmpty() {
+        return foods.isEmpty();
+    }
+
+    /**
+     * Whether two food lists, both in id order, agree on every field behind the content
+     * version. Ratings, review counts and images are left out.
+     */
+    static boolean sameContent(List<Food> oldFoods, List<Food> newFoods) {
+        if (oldFoods.size() != newFoods.size()) {
+            return false;
+        }
+        for (int i = 0; i < oldFoods.size(); i++) {
+            Food a = oldFoods.get(i);
+            Food b = newFoods.get(i);
+            if (a.getId() != b.getId()
+                    || a.getCategoryId() != b.getCategoryId()
+                    || a.getLocationId() != b.getLocationId()
+                    || a.getTimeValue() != b.getTimeValue()
+                    || a.isAvailable() != b.isAvailable()
+                    || a.isBestFood() != b.isBestFood()
+                    || Double.compare(a.getPrice(), b.getPrice()) != 0
+                    || Double.compare(a.getStar(), b.getStar()) != 0
+                    || !Objects.equals(a.getName(), b.getName())
+                    || !Objects.equals(a.getDescription(), b.getDescription())
+                    || !Objects.equals(a.getIngredients(), b.getIngredients())
+                    || !Objects.equals(a.getCategory(), b.getCategory())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
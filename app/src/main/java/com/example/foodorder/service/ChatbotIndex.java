@@ -0,0 +1,562 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+import com.example.foodorder.model.Location;
+import com.example.foodorder.model.ValueRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Query matching structures for one {@link CatalogSnapshot}, built once per snapshot and
+ * shared by all queries against it. Intent keywords, category names and food names go into
+ * a single {@link KeywordMatcher}, so a query is scanned once whatever the catalog size.
+ * Free-text questions are answered from a {@link CatalogSearchIndex} over the same foods, and
+ * misspelled dish and category names are resolved through a {@link SpellingIndex} over their
+ * words. The food lists each intent answers with are precomputed in one pass over the catalog,
+ * and price and preparation time ranges are answered by binary search over sorted arrays.
+ */
+final class ChatbotIndex {
+    /**
+     * What a query can be about, in the order ChatbotService gives them priority.
+     */
+    enum Intent {
+        GREETING, MENU, FAST_FOOD, HEALTHY, LOCATION, BEST_FOOD, AFFORDABLE, PREMIUM, CATEGORY, FOOD, HELP, NONE
+    }
+
+    private static final String[][] INTENT_KEYWORDS = new String[Intent.values().length][];
+
+    static {
+        INTENT_KEYWORDS[Intent.GREETING.ordinal()] = new String[]{"hello", "hi", "hey", "greetings",
+                "good morning", "good afternoon", "good evening"};
+        INTENT_KEYWORDS[Intent.MENU.ordinal()] = new String[]{"menu", "browse", "what do you have",
+                "what's available"};
+        INTENT_KEYWORDS[Intent.FAST_FOOD.ordinal()] = new String[]{"fast", "quick", "in a hurry", "fast food"};
+        INTENT_KEYWORDS[Intent.HEALTHY.ordinal()] = new String[]{"healthy", "salad", "vegetarian", "veggie", "light"};
+        INTENT_KEYWORDS[Intent.LOCATION.ordinal()] = new String[]{"location", "address", "where", "branch"};
+        INTENT_KEYWORDS[Intent.BEST_FOOD.ordinal()] = new String[]{"recommend", "best", "popular", "top rated"};
+        INTENT_KEYWORDS[Intent.AFFORDABLE.ordinal()] = new String[]{"cheap", "affordable", "budget", "under"};
+        INTENT_KEYWORDS[Intent.PREMIUM.ordinal()] = new String[]{"expensive", "premium", "high-end"};
+        INTENT_KEYWORDS[Intent.HELP.ordinal()] = new String[]{"help", "what can you do"};
+    }
+
+    // Used when the catalog has no price or time ranges
+    private static final double DEFAULT_FAST_FOOD_MAX_MINUTES = 10;
+    private static final double DEFAULT_AFFORDABLE_PRICE_LIMIT = 10;
+    private static final double DEFAULT_PREMIUM_PRICE_MIN = 30;
+    private static final String UNKNOWN_LOCATION = "Unknown Location";
+
+    private static final String[] HEALTHY_KEYWORDS = {"salad", "quinoa", "veggie", "vegetarian",
+            "grilled chicken", "smoothie", "fresh"};
+
+    private final CatalogSnapshot catalog;
+    private final KeywordMatcher<Match> matcher;
+    private final CatalogSearchIndex searchIndex;
+    private final List<Food> healthyFoods;
+    // Available best foods, in catalog order
+    private final List<Food> bestFoods = new ArrayList<>();
+    // Available foods sorted by price and by preparation time, with the sort keys alongside
+    private final Food[] foodsByPrice;
+    private final double[] sortedPrices;
+    private final Food[] foodsByTime;
+    private final double[] sortedTimes;
+    // Thresholds of the fixed intents, taken from the catalog's cheapest, dearest and quickest ranges
+    private final RangeQuery fastFoodRange;
+    private final RangeQuery affordableRange;
+    private final RangeQuery premiumRange;
+    // Indexed by category id; ids are small and dense
+    private final List<List<Food>> availableFoodsByCategoryId = new ArrayList<>();
+    // Indexed by location id
+    private final String[] locationNamesById;
+    // Words of food and category names, for typo-tolerant lookups
+    private final SpellingIndex nameWords;
+    private final Map<String, int[]> foodsByNameWord;
+    private final Map<String, int[]> categoriesByNameWord;
+    private final int[] foodNameWordCounts;
+    private final int[] categoryNameWordCounts;
+
+    ChatbotIndex(CatalogSnapshot catalog) {
+        this.catalog = catalog;
+
+        KeywordMatcher.Builder<Match> builder = new KeywordMatcher.Builder<>();
+        for (Intent intent : Intent.values()) {
+            String[] keywords = INTENT_KEYWORDS[intent.ordinal()];
+            if (keywords == null) {
+                continue;
+            }
+            Match match = new Match(intent, 0);
+            for (String keyword : keywords) {
+                builder.add(keyword, match);
+            }
+        }
+        List<Category> categories = catalog.getCategories();
+        for (int i = 0; i < categories.size(); i++) {
+            builder.add(normalize(categories.get(i).getName()), new Match(Intent.CATEGORY, i));
+        }
+        List<Food> foods = catalog.getFoods();
+        for (int i = 0; i < foods.size(); i++) {
+            builder.add(normalize(foods.get(i).getName()), new Match(Intent.FOOD, i));
+        }
+        matcher = builder.build();
+
+        searchIndex = new CatalogSearchIndex(foods);
+        healthyFoods = findHealthyFoods();
+        List<Food> available = indexAvailableFoods(foods, categories);
+        locationNamesById = indexLocationNames(catalog.getLocations());
+
+        // Stable sorts, so foods with the same value stay in catalog order
+        foodsByPrice = available.toArray(new Food[0]);
+        Arrays.sort(foodsByPrice, (a, b) -> Double.compare(a.getPrice(), b.getPrice()));
+        sortedPrices = new double[foodsByPrice.length];
+        for (int i = 0; i < foodsByPrice.length; i++) {
+            sortedPrices[i] = foodsByPrice[i].getPrice();
+        }
+        foodsByTime = available.toArray(new Food[0]);
+        Arrays.sort(foodsByTime, (a, b) -> Integer.compare(a.getTimeValue(), b.getTimeValue()));
+        sortedTimes = new double[foodsByTime.length];
+        for (int i = 0; i < foodsByTime.length; i++) {
+            sortedTimes[i] = foodsByTime[i].getTimeValue();
+        }
+
+        ValueRange cheapest = rangeByMin(catalog.getPriceRanges(), false);
+        ValueRange dearest = rangeByMin(catalog.getPriceRanges(), true);
+        ValueRange quickest = rangeByMin(catalog.getTimeRanges(), false);
+        affordableRange = RangeQuery.atMost(RangeQuery.Kind.PRICE,
+                cheapest != null ? cheapest.getMax() : DEFAULT_AFFORDABLE_PRICE_LIMIT, false);
+        premiumRange = RangeQuery.atLeast(RangeQuery.Kind.PRICE,
+                dearest != null ? dearest.getMin() : DEFAULT_PREMIUM_PRICE_MIN, true);
+        fastFoodRange = RangeQuery.atMost(RangeQuery.Kind.TIME,
+                quickest != null ? quickest.getMax() : DEFAULT_FAST_FOOD_MAX_MINUTES, true);
+
+        foodNameWordCounts = new int[foods.size()];
+        foodsByNameWord = indexNameWords(namesOf(foods), foodNameWordCounts);
+        categoryNameWordCounts = new int[categories.size()];
+        categoriesByNameWord = indexNameWords(categoryNamesOf(categories), categoryNameWordCounts);
+        Set<String> vocabulary = new TreeSet<>(foodsByNameWord.keySet());
+        vocabulary.addAll(categoriesByNameWord.keySet());
+        nameWords = SpellingIndex.build(vocabulary);
+    }
+
+    /**
+     * Fills the per-category and best food lists
+     *
+     * @return all available foods, in catalog order
+     */
+    private List<Food> indexAvailableFoods(List<Food> foods, List<Category> categories) {
+        int maxCategoryId = -1;
+        for (Category category : categories) {
+            maxCategoryId = Math.max(maxCategoryId, category.getId());
+        }
+        for (int id = 0; id <= maxCategoryId; id++) {
+            availableFoodsByCategoryId.add(new ArrayList<>());
+        }
+        List<Food> available = new ArrayList<>();
+        for (Food food : foods) {
+            if (!food.isAvailable()) {
+                continue;
+            }
+            available.add(food);
+            int categoryId = food.getCategoryId();
+            if (categoryId >= 0 && categoryId <= maxCategoryId) {
+                availableFoodsByCategoryId.get(categoryId).add(food);
+            }
+            if (food.isBestFood()) {
+                bestFoods.add(food);
+            }
+        }
+        return available;
+    }
+
+    /**
+     * The range with the lowest minimum, or with the highest if highestMin is set; null if none
+     */
+    private static ValueRange rangeByMin(List<ValueRange> ranges, boolean highestMin) {
+        ValueRange result = null;
+        for (ValueRange range : ranges) {
+            if (result == null
+                    || (highestMin ? range.getMin() > result.getMin() : range.getMin() < result.getMin())) {
+                result = range;
+            }
+        }
+        return result;
+    }
+
+    private static String[] indexLocationNames(List<Location> locations) {
+        int maxId = -1;
+        for (Location location : locations) {
+            maxId = Math.max(maxId, location.getId());
+        }
+        String[] names = new String[maxId + 1];
+        for (Location location : locations) {
+            if (location.getId() >= 0 && names[location.getId()] == null) {
+                names[location.getId()] = location.getName();
+            }
+        }
+        return names;
+    }
+
+    private static List<String> namesOf(List<Food> foods) {
+        List<String> names = new ArrayList<>(foods.size());
+        for (Food food : foods) {
+            names.add(food.getName());
+        }
+        return names;
+    }
+
+    private static List<String> categoryNamesOf(List<Category> categories) {
+        List<String> names = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            names.add(category.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Maps each distinct name word to the positions of the names containing it, in order,
+     * and stores each name's distinct word count in wordCounts.
+     */
+    private static Map<String, int[]> indexNameWords(List<String> names, int[] wordCounts) {
+        Map<String, List<Integer>> positionsByWord = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            Set<String> words = new TreeSet<>(CatalogSearchIndex.tokenize(names.get(i)));
+            wordCounts[i] = words.size();
+            for (String word : words) {
+                List<Integer> positions = positionsByWord.get(word);
+                if (positions == null) {
+                    positions = new ArrayList<>();
+                    positionsByWord.put(word, positions);
+                }
+                positions.add(i);
+            }
+        }
+        Map<String, int[]> result = new HashMap<>(positionsByWord.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : positionsByWord.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            int[] array = new int[positions.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = positions.get(i);
+            }
+            result.put(entry.getKey(), array);
+        }
+        return result;
+    }
+
+    private List<Food> findHealthyFoods() {
+        Set<Integer> positions = new TreeSet<>();
+        for (String keyword : HEALTHY_KEYWORDS) {
+            positions.addAll(searchIndex.findByFieldPrefixes(keyword, CatalogSearchIndex.FIELD_NAME));
+        }
+        List<Food> result = new ArrayList<>();
+        for (int position : positions) {
+            Food food = searchIndex.getFood(position);
+            if (food.isAvailable()) {
+                result.add(food);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    CatalogSnapshot getCatalog() {
+        return catalog;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * The highest-priority match in the query. Keywords and names only match as whole words,
+     * so "hi" doesn't fire inside "chicken". Among categories and foods the one listed first
+     * in the catalog wins, as with the previous sequential checks.
+     */
+    Match resolve(String normalizedQuery) {
+        Match best = Match.NONE;
+        for (Match match : matcher.findAllWords(normalizedQuery)) {
+            if (match.isBefore(best)) {
+                best = match;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The category named in the query whatever keywords come with it, e.g. Chicken in
+     * "chicken under $15", where "under" outranks the category in {@link #resolve}
+     *
+     * @return the first such category in catalog order, or null if none is named
+     */
+    Category findCategory(String normalizedQuery) {
+        Match best = Match.NONE;
+        for (Match match : matcher.findAllWords(normalizedQuery)) {
+            if (match.intent == Intent.CATEGORY && match.isBefore(best)) {
+                best = match;
+            }
+        }
+        return best == Match.NONE ? null : getCategory(best);
+    }
+
+    /**
+     * Resolves a query to a food or category whose name it spells approximately, e.g.
+     * "margarita piza". Every word of the name must be matched by some query word; foods win
+     * over categories, longer names over shorter ones, then fewer typos, then catalog order.
+     *
+     * @return a FOOD or CATEGORY match, or {@link Match#NONE}
+     */
+    Match resolveApproximately(String query) {
+        Map<String, Integer> corrections = findCorrections(query);
+        if (corrections.isEmpty()) {
+            return Match.NONE;
+        }
+        Match food = bestCoveredName(corrections, foodsByNameWord, foodNameWordCounts, Intent.FOOD);
+        return food != Match.NONE
+                ? food
+                : bestCoveredName(corrections, categoriesByNameWord, categoryNameWordCounts, Intent.CATEGORY);
+    }
+
+    /**
+     * The query with words unknown to the catalog replaced by the closest food or category
+     * name word, so the search index can still rank them.
+     */
+    String correctSpelling(String query) {
+        StringBuilder corrected = new StringBuilder();
+        for (String token : CatalogSearchIndex.tokenize(query)) {
+            String replacement = token;
+            if (!searchIndex.containsTerm(token)) {
+                int bestDistance = Integer.MAX_VALUE;
+                for (SpellingIndex.WordMatch match : nameWords.search(token)) {
+                    if (match.distance < bestDistance
+                            || (match.distance == bestDistance && match.word.compareTo(replacement) < 0)) {
+                        bestDistance = match.distance;
+                        replacement = match.word;
+                    }
+                }
+            }
+            if (corrected.length() > 0) {
+                corrected.append(' ');
+            }
+            corrected.append(replacement);
+        }
+        return corrected.toString();
+    }
+
+    /**
+     * Name words within the tolerated edit distance of some query word, with the smallest distance
+     */
+    private Map<String, Integer> findCorrections(String query) {
+        Map<String, Integer> corrections = new HashMap<>();
+        for (String token : CatalogSearchIndex.tokenize(query)) {
+            for (SpellingIndex.WordMatch match : nameWords.search(token)) {
+                Integer known = corrections.get(match.word);
+                if (known == null || match.distance < known) {
+                    corrections.put(match.word, match.distance);
+                }
+            }
+        }
+        return corrections;
+    }
+
+    private static Match bestCoveredName(Map<String, Integer> corrections, Map<String, int[]> positionsByWord,
+                                         int[] wordCounts, Intent intent) {
+        // Per name position: matched words and their summed distance
+        Map<Integer, int[]> coverage = new HashMap<>();
+        for (Map.Entry<String, Integer> correction : corrections.entrySet()) {
+            int[] positions = positionsByWord.get(correction.getKey());
+            if (positions == null) {
+                continue;
+            }
+            for (int position : positions) {
+                int[] covered = coverage.get(position);
+                if (covered == null) {
+                    covered = new int[2];
+                    coverage.put(position, covered);
+                }
+                covered[0]++;
+                covered[1] += correction.getValue();
+            }
+        }
+
+        int best = -1;
+        int bestDistance = 0;
+        for (Map.Entry<Integer, int[]> entry : coverage.entrySet()) {
+            int position = entry.getKey();
+            int[] covered = entry.getValue();
+            if (covered[0] < wordCounts[position]) {
+                continue;
+            }
+            boolean better = best < 0
+                    || wordCounts[position] > wordCounts[best]
+                    || (wordCounts[position] == wordCounts[best]
+                        && (covered[1] < bestDistance || (covered[1] == bestDistance && position < best)));
+            if (better) {
+                best = position;
+                bestDistance = covered[1];
+            }
+        }
+        return best < 0 ? Match.NONE : new Match(intent, best);
+    }
+
+    List<Food> getAvailableFoodsByCategory(int categoryId) {
+        return categoryId >= 0 && categoryId < availableFoodsByCategoryId.size()
+                ? availableFoodsByCategoryId.get(categoryId)
+                : Collections.<Food>emptyList();
+    }
+
+    List<Food> getBestFoods() {
+        return bestFoods;
+    }
+
+    RangeQuery getFastFoodRange() {
+        return fastFoodRange;
+    }
+
+    RangeQuery getAffordableRange() {
+        return affordableRange;
+    }
+
+    RangeQuery getPremiumRange() {
+        return premiumRange;
+    }
+
+    /**
+     * Available foods within the range, ordered by the ranged value; O(log n) plus the result,
+     * which is a view of the sorted array rather than a copy.
+     */
+    List<Food> findInRange(RangeQuery range) {
+        Food[] sortedFoods = range.kind == RangeQuery.Kind.PRICE ? foodsByPrice : foodsByTime;
+        double[] values = range.kind == RangeQuery.Kind.PRICE ? sortedPrices : sortedTimes;
+        int from = range.minInclusive ? firstAtLeast(values, range.min) : firstAbove(values, range.min);
+        int to = range.maxInclusive ? firstAbove(values, range.max) : firstAtLeast(values, range.max);
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(sortedFoods).subList(from, to));
+    }
+
+    /**
+     * Available foods of one category within the range, e.g. "chicken under $15", ordered by the
+     * ranged value; all categories if category is null.
+     */
+    List<Food> findInRange(RangeQuery range, Category category) {
+        List<Food> inRange = findInRange(range);
+        if (category == null) {
+            return inRange;
+        }
+        List<Food> result = new ArrayList<>();
+        for (Food food : inRange) {
+            if (food.getCategoryId() == category.getId()) {
+                result.add(food);
+            }
+        }
+        return result;
+    }
+
+    // Index of the first value >= key, or values.length
+    private static int firstAtLeast(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Index of the first value > key, or values.length
+    private static int firstAbove(double[] values, double key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    String getLocationName(int locationId) {
+        String name = locationId >= 0 && locationId < locationNamesById.length
+                ? locationNamesById[locationId]
+                : null;
+        return name != null ? name : UNKNOWN_LOCATION;
+    }
+
+    /**
+     * Available foods whose name mentions a healthy keyword, in catalog order
+     */
+    List<Food> getHealthyFoods() {
+        return healthyFoods;
+    }
+
+    /**
+     * Best-ranked available foods for a free-text query
+     */
+    List<Food> search(String query, int limit) {
+        List<Food> result = new ArrayList<>();
+        // Over-fetch a little so unavailable foods don't leave the answer short
+        for (int position : searchIndex.search(query, limit * 2)) {
+            Food food = searchIndex.getFood(position);
+            if (food.isAvailable()) {
+                result.add(food);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Whether the query asks for more than the category itself, e.g. "spicy chicken with rice"
+     * rather than "chicken". Only words that occur somewhere in the catalog count.
+     */
+    boolean hasSearchTermsBeyond(String query, String categoryName) {
+        List<String> categoryTokens = CatalogSearchIndex.tokenize(categoryName);
+        for (String token : CatalogSearchIndex.tokenize(query)) {
+            if (!categoryTokens.contains(token) && searchIndex.containsTerm(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Category getCategory(Match match) {
+        return catalog.getCategories().get(match.index);
+    }
+
+    Food getFood(Match match) {
+        return catalog.getFoods().get(match.index);
+    }
+
+    static final class Match {
+        static final Match NONE = new Match(Intent.NONE, 0);
+
+        final Intent intent;
+        // Position in the catalog's category or food list
+        final int index;
+
+        Match(Intent intent, int index) {
+            this.intent = intent;
+            this.index = index;
+        }
+
+        boolean isBefore(Match other) {
+            int byIntent = intent.compareTo(other.intent);
+            return byIntent < 0 || (byIntent == 0 && index < other.index);
+        }
+    }
+}
@@ -1,229 +1,188 @@
 package com.example.foodorder.service;
 
 import android.content.Context;
-import android.util.Log;
 
 import com.example.foodorder.model.Category;
 import com.example.foodorder.model.Food;
 import com.example.foodorder.model.Location;
+import com.example.foodorder.utils.AppExecutors;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 /**
  * Service class for handling intelligent chatbot queries
- * Loads and processes food database for natural language understanding
+ * Answers from the shared catalog snapshot provided by {@link CatalogService}.
+ * The matching index is built in the background whenever the catalog loads, starting at
+ * application start; queries sent before the first build are queued, never blocking the caller.
  */
 public class ChatbotService {
-    private static final String TAG = "ChatbotService";
-    private static ChatbotService instance;
+    private static volatile ChatbotService instance;
+    
+    private static final int SEARCH_RESULT_LIMIT = 5;
     
-    private List<Food> foods;
-    private List<Category> categories;
-    private List<Location> locations;
-    private Context context;
+    private final CatalogService catalogService;
+    private final AppExecutors executors;
+    // Run once the first index is built; each one hands its work to the right executor
+    private final List<Runnable> pendingUntilReady = new ArrayList<>();
+    // Null until the first catalog load has been indexed
+    private volatile ChatbotIndex index;
     
     private ChatbotService(Context context) {
-        this.context = context.getApplicationContext();
-        loadDatabase();
+        catalogService = CatalogService.getInstance(context);
+        executors = AppExecutors.getInstance();
+        catalogService.addOnSnapshotChangedListener(this::onSnapshotChanged);
+        // The catalog may have finished loading before the listener was added
+        executors.diskRead().execute(() -> onSnapshotChanged(catalogService.getSnapshot()));
     }
     
-    public static synchronized ChatbotService getInstance(Context context) {
+    public static ChatbotService getInstance(Context context) {
         if (instance == null) {
-            instance = new ChatbotService(context);
+            synchronized (ChatbotService.class) {
+                if (instance == null) {
+                    instance = new ChatbotService(context.getApplicationContext());
+                }
+            }
         }
         return instance;
     }
     
-    /**
-     * Load database.json from assets
-     */
-    private void loadDatabase() {
-        foods = new ArrayList<>();
-        categories = new ArrayList<>();
-        locations = new ArrayList<>();
-        
-        try {
-            String jsonString = loadJSONFromAsset("database.json");
-            JSONObject jsonObject = new JSONObject(jsonString);
-            
-            // Load categories
-            JSONArray categoriesArray = jsonObject.getJSONArray("Categories");
-            for (int i = 0; i < categoriesArray.length(); i++) {
-                JSONObject catObj = categoriesArray.getJSONObject(i);
-                categories.add(new Category(
-                    catObj.getInt("Id"),
-                    catObj.getString("Name")
-                ));
-            }
-            
-            // Load locations
-            JSONArray locationsArray = jsonObject.getJSONArray("Locations");
-            for (int i = 0; i < locationsArray.length(); i++) {
-                JSONObject locObj = locationsArray.getJSONObject(i);
-                locations.add(new Location(
-                    locObj.getInt("Id"),
-                    locObj.getString("Name"),
-                    locObj.getString("Address"),
-                    locObj.getString("Phone"),
-                    locObj.getString("Hours")
-                ));
+    private void onSnapshotChanged(CatalogSnapshot catalog) {
+        // Version 0 is the empty placeholder served before the first load
+        if (catalog.getVersion() == 0 || !isNewer(catalog)) {
+            return;
+        }
+        ChatbotIndex built = new ChatbotIndex(catalog);
+        List<Runnable> ready;
+        synchronized (this) {
+            if (!isNewer(catalog)) {
+                return;
             }
-            
-            // Load foods
-            JSONArray foodsArray = jsonObject.getJSONArray("Foods");
-            for (int i = 0; i < foodsArray.length(); i++) {
-                JSONObject foodObj = foodsArray.getJSONObject(i);
-                Food food = new Food(
-                    foodObj.getString("Name"),
-                    foodObj.getString("Description"),
-                    foodObj.getDouble("Price"),
-                    foodObj.optString("ImagePath", ""),
-                    getCategoryNameById(foodObj.getInt("CategoryId")),
-                    foodObj.getString("Ingredients")
-                );
-                food.setId(foodObj.getInt("Id"));
-                food.setCategoryId(foodObj.getInt("CategoryId"));
-                food.setPriceId(foodObj.getInt("PriceId"));
-                food.setTimeId(foodObj.getInt("TimeId"));
-                food.setTimeValue(foodObj.getInt("TimeValue"));
-                food.setLocationId(foodObj.getInt("LocationId"));
-                food.setStar(foodObj.getDouble("Star"));
-                food.setImagePath(foodObj.getString("ImagePath"));
-                food.setBestFood(foodObj.getBoolean("BestFood"));
-                food.setAvailable(foodObj.getBoolean("IsAvailable"));
-                food.setAverageRating(foodObj.getDouble("Star"));
-                
-                foods.add(food);
-            }
-            
-            Log.d(TAG, "Database loaded: " + foods.size() + " foods, " + 
-                  categories.size() + " categories, " + locations.size() + " locations");
-            
-        } catch (JSONException e) {
-            Log.e(TAG, "Error parsing database JSON", e);
+            index = built;
+            ready = new ArrayList<>(pendingUntilReady);
+            pendingUntilReady.clear();
+        }
+        for (Runnable runnable : ready) {
+            runnable.run();
         }
     }
     
-    private String loadJSONFromAsset(String fileName) {
-        StringBuilder json = new StringBuilder();
-        try {
-            InputStream is = context.getAssets().open(fileName);
-            BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                json.append(line);
+    /**
+     * Whether catalog needs a new index. Snapshots that only differ in ratings or images
+     * keep the content version, and the index built for the earlier one still answers right.
+     */
+    private boolean isNewer(CatalogSnapshot catalog) {
+        ChatbotIndex current = index;
+        return current == null || current.getCatalog().getContentVersion() < catalog.getContentVersion();
+    }
+    
+    private void runWhenReady(Runnable runnable) {
+        synchronized (this) {
+            if (index == null) {
+                pendingUntilReady.add(runnable);
+                return;
             }
-            reader.close();
-        } catch (IOException e) {
-            Log.e(TAG, "Error reading JSON file", e);
         }
-        return json.toString();
+        runnable.run();
+    }
+    
+    /**
+     * Run callback on the main thread once the catalog has been indexed
+     */
+    public void whenReady(Runnable callback) {
+        runWhenReady(() -> executors.mainThread().execute(callback));
+    }
+    
+    /**
+     * Answer a user query in the background. The listener is called on a background thread;
+     * queries sent before the catalog is indexed are answered once it is.
+     */
+    public void processQuery(String query, OnResponseListener listener) {
+        runWhenReady(() -> executors.diskRead().execute(() -> listener.onResponse(answer(query))));
     }
     
     /**
      * Process user query and generate intelligent response
      */
-    public String processQuery(String query) {
-        String lowerQuery = query.toLowerCase().trim();
-        
-        // Greeting
-        if (isGreeting(lowerQuery)) {
-            return "Hello! Welcome to our restaurant! 🍕 I'm here to help you find delicious food. " +
-                   "You can ask me about our menu, fast food options, healthy choices, locations, or anything else!";
-        }
-        
-        // Menu/Browse
-        if (lowerQuery.contains("menu") || lowerQuery.contains("browse") || 
-            lowerQuery.contains("what do you have") || lowerQuery.contains("what's available")) {
-            return generateMenuResponse();
-        }
-        
-        // Fast food
-        if (lowerQuery.contains("fast") || lowerQuery.contains("quick") || 
-            lowerQuery.contains("in a hurry") || lowerQuery.contains("fast food")) {
-            return generateFastFoodResponse();
-        }
-        
-        // Healthy food
-        if (lowerQuery.contains("healthy") || lowerQuery.contains("salad") || 
-            lowerQuery.contains("vegetarian") || lowerQuery.contains("veggie") ||
-            lowerQuery.contains("light")) {
-            return generateHealthyFoodResponse();
-        }
-        
-        // Location info
-        if (lowerQuery.contains("location") || lowerQuery.contains("address") || 
-            lowerQuery.contains("where") || lowerQuery.contains("branch")) {
-            return generateLocationResponse();
-        }
-        
-        // Best food / Recommendations
-        if (lowerQuery.contains("recommend") || lowerQuery.contains("best") || 
-            lowerQuery.contains("popular") || lowerQuery.contains("top rated")) {
-            return generateBestFoodResponse();
-        }
-        
-        // Price range queries
-        if (lowerQuery.contains("cheap") || lowerQuery.contains("affordable") || 
-            lowerQuery.contains("budget") || lowerQuery.contains("under")) {
-            return generateAffordableResponse();
-        }
-        
-        if (lowerQuery.contains("expensive") || lowerQuery.contains("premium") || 
-            lowerQuery.contains("high-end")) {
-            return generatePremiumResponse();
+    private String answer(String query) {
+        ChatbotIndex index = this.index;
+        String normalizedQuery = ChatbotIndex.normalize(query);
+        ChatbotIndex.Match match = index.resolve(normalizedQuery);
+
+        // "under $15" or "ready in 20 minutes" is more specific than any keyword in the query
+        RangeQuery range = RangeQuery.parse(normalizedQuery);
+        if (range != null) {
+            return generateRangeResponse(index, range, index.findCategory(normalizedQuery));
         }
-        
-        // Category specific
-        for (Category category : categories) {
-            if (lowerQuery.contains(category.getName().toLowerCase())) {
-                return generateCategoryResponse(category);
+
+        switch (match.intent) {
+            case GREETING:
+                return "Hello! Welcome to our restaurant! 🍕 I'm here to help you find delicious food. " +
+                       "You can ask me about our menu, fast food options, healthy choices, locations, or anything else!";
+            case MENU:
+                return generateMenuResponse(index);
+            case FAST_FOOD:
+                return generateFastFoodResponse(index);
+            case HEALTHY:
+                return generateHealthyFoodResponse(index);
+            case LOCATION:
+                return generateLocationResponse(index);
+            case BEST_FOOD:
+                return generateBestFoodResponse(index);
+            case AFFORDABLE:
+                return generateAffordableResponse(index);
+            case PREMIUM:
+                return generatePremiumResponse(index);
+            case CATEGORY: {
+                // "margarita pizza" names the category exactly but a dish only approximately
+                ChatbotIndex.Match dish = index.resolveApproximately(query);
+                if (dish.intent == ChatbotIndex.Intent.FOOD) {
+                    return generateFoodDetailResponse(index, index.getFood(dish));
+                }
+                Category category = index.getCategory(match);
+                if (index.hasSearchTermsBeyond(query, category.getName())) {
+                    List<Food> results = index.search(query, SEARCH_RESULT_LIMIT);
+                    if (!results.isEmpty()) {
+                        return generateSearchResponse(index, results);
+                    }
+                }
+                return generateCategoryResponse(index, category);
             }
-        }
-        
-        // Search by food name
-        for (Food food : foods) {
-            if (lowerQuery.contains(food.getName().toLowerCase())) {
-                return generateFoodDetailResponse(food);
+            case FOOD:
+                return generateFoodDetailResponse(index, index.getFood(match));
+            case HELP:
+                return generateHelpResponse();
+            default: {
+                ChatbotIndex.Match approximate = index.resolveApproximately(query);
+                if (approximate.intent == ChatbotIndex.Intent.FOOD) {
+                    return generateFoodDetailResponse(index, index.getFood(approximate));
+                }
+                if (approximate.intent == ChatbotIndex.Intent.CATEGORY) {
+                    return generateCategoryResponse(index, index.getCategory(approximate));
+                }
+                List<Food> results = index.search(index.correctSpelling(query), SEARCH_RESULT_LIMIT);
+                if (!results.isEmpty()) {
+                    return generateSearchResponse(index, results);
+                }
+                return "I can help you with:\n" +
+                       "• Browsing our menu\n" +
+                       "• Finding fast food (ready in 10 mins or less)\n" +
+                       "• Recommending healthy options\n" +
+                       "• Sharing location information\n" +
+                       "• Showing our best dishes\n" +
+                       "• Filtering by category (Pizza, Burger, Chicken, Sushi, etc.)\n\n" +
+                       "What would you like to know?";
             }
         }
-        
-        // Help/How can you help
-        if (lowerQuery.contains("help") || lowerQuery.contains("what can you do")) {
-            return generateHelpResponse();
-        }
-        
-        // Default response
-        return "I can help you with:\n" +
-               "• Browsing our menu\n" +
-               "• Finding fast food (ready in 10 mins or less)\n" +
-               "• Recommending healthy options\n" +
-               "• Sharing location information\n" +
-               "• Showing our best dishes\n" +
-               "• Filtering by category (Pizza, Burger, Chicken, Sushi, etc.)\n\n" +
-               "What would you like to know?";
     }
     
-    private boolean isGreeting(String query) {
-        return query.matches(".*(hello|hi|hey|greetings|good morning|good afternoon|good evening).*");
-    }
-    
-    private String generateMenuResponse() {
+    private String generateMenuResponse(ChatbotIndex index) {
         StringBuilder response = new StringBuilder();
         response.append("🍽️ Here's our complete menu organized by category:\n\n");
         
-        for (Category category : categories) {
-            List<Food> categoryFoods = getFoodsByCategory(category.getId());
+        for (Category category : index.getCatalog().getCategories()) {
+            List<Food> categoryFoods = index.getAvailableFoodsByCategory(category.getId());
             if (!categoryFoods.isEmpty()) {
                 response.append("📌 ").append(category.getName()).append(":\n");
                 for (Food food : categoryFoods) {
@@ -240,17 +199,18 @@ public class ChatbotService {
         return response.toString();
     }
     
-    private String generateFastFoodResponse() {
-        List<Food> fastFoods = getFastFoods();
+    private String generateFastFoodResponse(ChatbotIndex index) {
+        RangeQuery fastFoodRange = index.getFastFoodRange();
+        List<Food> fastFoods = index.findInRange(fastFoodRange);
         StringBuilder response = new StringBuilder();
-        response.append("⚡ Fast Food Options (Ready in 10 minutes or less):\n\n");
+        response.append("⚡ Fast Food Options (Ready ").append(fastFoodRange.describe()).append("):\n\n");
         
         for (Food food : fastFoods) {
             response.append("🍴 ").append(food.getName()).append("\n");
             response.append("   ⏱️ ").append(food.getTimeValue()).append(" minutes\n");
             response.append("   💰 $").append(String.format("%.2f", food.getPrice())).append("\n");
             response.append("   ⭐ ").append(food.getStar()).append("/5\n");
-            response.append("   📍 ").append(getLocationNameById(food.getLocationId())).append("\n\n");
+            response.append("   📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
         }
         
         if (fastFoods.isEmpty()) {
@@ -260,8 +220,8 @@ public class ChatbotService {
         return response.toString();
     }
     
-    private String generateHealthyFoodResponse() {
-        List<Food> healthyFoods = getHealthyFoods();
+    private String generateHealthyFoodResponse(ChatbotIndex index) {
+        List<Food> healthyFoods = index.getHealthyFoods();
         StringBuilder response = new StringBuilder();
         response.append("🥗 Healthy Food Options:\n\n");
         
@@ -270,7 +230,7 @@ public class ChatbotService {
             response.append("   ").append(food.getDescription()).append("\n");
             response.append("   💰 $").append(String.format("%.2f", food.getPrice())).append("\n");
             response.append("   ⭐ ").append(food.getStar()).append("/5\n");
-            response.append("   📍 ").append(getLocationNameById(food.getLocationId())).append("\n\n");
+            response.append("   📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
         }
         
         if (healthyFoods.isEmpty()) {
@@ -282,11 +242,11 @@ public class ChatbotService {
         return response.toString();
     }
     
-    private String generateLocationResponse() {
+    private String generateLocationResponse(ChatbotIndex index) {
         StringBuilder response = new StringBuilder();
         response.append("📍 Our Restaurant Locations:\n\n");
         
-        for (Location location : locations) {
+        for (Location location : index.getCatalog().getLocations()) {
             response.append("🏪 ").append(location.getName()).append("\n");
             response.append("   📮 ").append(location.getAddress()).append("\n");
             response.append("   📞 ").append(location.getPhone()).append("\n");
@@ -297,8 +257,8 @@ public class ChatbotService {
         return response.toString();
     }
     
-    private String generateBestFoodResponse() {
-        List<Food> bestFoods = getBestFoods();
+    private String generateBestFoodResponse(ChatbotIndex index) {
+        List<Food> bestFoods = index.getBestFoods();
         StringBuilder response = new StringBuilder();
         response.append("⭐ Our Best & Most Popular Dishes:\n\n");
         
@@ -308,29 +268,31 @@ public class ChatbotService {
             response.append("   💰 $").append(String.format("%.2f", food.getPrice())).append("\n");
             response.append("   ⭐ ").append(food.getStar()).append("/5 - Highly Rated!\n");
             response.append("   ⏱️ Ready in ").append(food.getTimeValue()).append(" minutes\n");
-            response.append("   📍 ").append(getLocationNameById(food.getLocationId())).append("\n\n");
+            response.append("   📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
         }
         
         return response.toString();
     }
     
-    private String generateAffordableResponse() {
-        List<Food> affordableFoods = getAffordableFoods();
+    private String generateAffordableResponse(ChatbotIndex index) {
+        RangeQuery affordableRange = index.getAffordableRange();
+        List<Food> affordableFoods = index.findInRange(affordableRange);
         StringBuilder response = new StringBuilder();
-        response.append("💵 Budget-Friendly Options (Under $10):\n\n");
+        response.append("💵 Budget-Friendly Options (")
+               .append(capitalize(affordableRange.describe())).append("):\n\n");
         
         for (Food food : affordableFoods) {
             response.append("🍽️ ").append(food.getName()).append("\n");
             response.append("   💰 Only $").append(String.format("%.2f", food.getPrice())).append("!\n");
             response.append("   ⭐ ").append(food.getStar()).append("/5\n");
-            response.append("   📍 ").append(getLocationNameById(food.getLocationId())).append("\n\n");
+            response.append("   📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
         }
         
         return response.toString();
     }
     
-    private String generatePremiumResponse() {
-        List<Food> premiumFoods = getPremiumFoods();
+    private String generatePremiumResponse(ChatbotIndex index) {
+        List<Food> premiumFoods = index.findInRange(index.getPremiumRange());
         StringBuilder response = new StringBuilder();
         response.append("💎 Premium Dining Options:\n\n");
         
@@ -339,14 +301,43 @@ public class ChatbotService {
             response.append("   ").append(food.getDescription()).append("\n");
             response.append("   💰 $").append(String.format("%.2f", food.getPrice())).append("\n");
             response.append("   ⭐ ").append(food.getStar()).append("/5\n");
-            response.append("   📍 ").append(getLocationNameById(food.getLocationId())).append("\n\n");
+            response.append("   📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
+        }
+        
+        return response.toString();
+    }
+    
+    private String generateRangeResponse(ChatbotIndex index, RangeQuery range, Category category) {
+        List<Food> foods = index.findInRange(range, category);
+        String dishes = category != null ? category.getName() + " dishes" : "Dishes";
+        StringBuilder response = new StringBuilder();
+        if (range.kind == RangeQuery.Kind.PRICE) {
+            response.append("💵 ").append(dishes).append(" priced ").append(range.describe()).append(":\n\n");
+        } else {
+            response.append("⏱️ ").append(dishes).append(" ready ").append(range.describe()).append(":\n\n");
+        }
+        
+        for (Food food : foods) {
+            response.append("• ").append(food.getName()).append("\n");
+            response.append("  💰 $").append(String.format("%.2f", food.getPrice()))
+                   .append(" | ⏱️ ").append(food.getTimeValue()).append(" min")
+                   .append(" | ⭐ ").append(food.getStar())
+                   .append(" | 📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
+        }
+        
+        if (foods.isEmpty()) {
+            response.append("Sorry, nothing on the menu matches that right now.");
         }
         
         return response.toString();
     }
     
-    private String generateCategoryResponse(Category category) {
-        List<Food> categoryFoods = getFoodsByCategory(category.getId());
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+    
+    private String generateCategoryResponse(ChatbotIndex index, Category category) {
+        List<Food> categoryFoods = index.getAvailableFoodsByCategory(category.getId());
         StringBuilder response = new StringBuilder();
         response.append("🍴 ").append(category.getName()).append(" Menu:\n\n");
         
@@ -361,14 +352,30 @@ public class ChatbotService {
         return response.toString();
     }
     
-    private String generateFoodDetailResponse(Food food) {
+    private String generateSearchResponse(ChatbotIndex index, List<Food> results) {
+        StringBuilder response = new StringBuilder();
+        response.append("🔎 Here's what matches best:\n\n");
+        
+        for (Food food : results) {
+            response.append("• ").append(food.getName()).append("\n");
+            response.append("  ").append(food.getDescription()).append("\n");
+            response.append("  💰 $").append(String.format("%.2f", food.getPrice()))
+                   .append(" | ⭐ ").append(food.getStar())
+                   .append(" | 📍 ").append(index.getLocationName(food.getLocationId())).append("\n\n");
+        }
+        
+        response.append("Ask me about any of these for more details!");
+        return response.toString();
+    }
+    
+    private String generateFoodDetailResponse(ChatbotIndex index, Food food) {
         StringBuilder response = new StringBuilder();
         response.append("🍽️ ").append(food.getName()).append("\n\n");
         response.append("📝 ").append(food.getDescription()).append("\n\n");
         response.append("💰 Price: $").append(String.format("%.2f", food.getPrice())).append("\n");
         response.append("⭐ Rating: ").append(food.getStar()).append("/5\n");
         response.append("⏱️ Preparation Time: ").append(food.getTimeValue()).append(" minutes\n");
-        response.append("📍 Location: ").append(getLocationNameById(food.getLocationId())).append("\n");
+        response.append("📍 Location: ").append(index.getLocationName(food.getLocationId())).append("\n");
         response.append("🥘 Ingredients: ").append(food.getIngredients()).append("\n");
         
         if (food.isBestFood()) {
@@ -399,102 +406,19 @@ public class ChatbotService {
                "Just ask me anything! 😊";
     }
     
-    // Helper methods to filter foods
-    
-    private List<Food> getFoodsByCategory(int categoryId) {
-        List<Food> result = new ArrayList<>();
-        for (Food food : foods) {
-            if (food.getCategoryId() == categoryId && food.isAvailable()) {
-                result.add(food);
-            }
-        }
-        return result;
-    }
-    
-    private List<Food> getFastFoods() {
-        List<Food> result = new ArrayList<>();
-        for (Food food : foods) {
-            if (food.getTimeValue() <= 10 && food.isAvailable()) {
-                result.add(food);
-            }
-        }
-        return result;
-    }
-    
-    private List<Food> getHealthyFoods() {
-        List<Food> result = new ArrayList<>();
-        String[] healthyKeywords = {"salad", "quinoa", "veggie", "vegetarian", 
-                                     "grilled chicken", "smoothie", "fresh"};
-        
-        for (Food food : foods) {
-            String nameLower = food.getName().toLowerCase();
-            for (String keyword : healthyKeywords) {
-                if (nameLower.contains(keyword) && food.isAvailable()) {
-                    result.add(food);
-                    break;
-                }
-            }
-        }
-        return result;
-    }
-    
-    private List<Food> getBestFoods() {
-        List<Food> result = new ArrayList<>();
-        for (Food food : foods) {
-            if (food.isBestFood() && food.isAvailable()) {
-                result.add(food);
-            }
-        }
-        return result;
-    }
-    
-    private List<Food> getAffordableFoods() {
-        List<Food> result = new ArrayList<>();
-        for (Food food : foods) {
-            if (food.getPrice() < 10 && food.isAvailable()) {
-                result.add(food);
-            }
-        }
-        return result;
-    }
-    
-    private List<Food> getPremiumFoods() {
-        List<Food> result = new ArrayList<>();
-        for (Food food : foods) {
-            if (food.getPrice() >= 30 && food.isAvailable()) {
-                result.add(food);
-            }
-        }
-        return result;
-    }
-    
-    private String getCategoryNameById(int id) {
-        for (Category category : categories) {
-            if (category.getId() == id) {
-                return category.getName();
-            }
-        }
-        return "Other";
-    }
-    
-    private String getLocationNameById(int id) {
-        for (Location location : locations) {
-            if (location.getId() == id) {
-                return location.getName();
-            }
-        }
-        return "Unknown Location";
-    }
-    
     public List<Food> getAllFoods() {
-        return new ArrayList<>(foods);
+        return new ArrayList<>(catalogService.getSnapshot().getFoods());
     }
     
     public List<Category> getAllCategories() {
-        return new ArrayList<>(categories);
+        return new ArrayList<>(catalogService.getSnapshot().getCategories());
     }
     
     public List<Location> getAllLocations() {
-        return new ArrayList<>(locations);
+        return new ArrayList<>(catalogService.getSnapshot().getLocations());
+    }
+    
+    public interface OnResponseListener {
+        void onResponse(String response);
     }
 }
@@ -0,0 +1,132 @@
+package com.example.foodorder.service;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.foodorder.dao.CartItemDao;
+import com.example.foodorder.dao.OrderDao;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.CartItem;
+import com.example.foodorder.model.Order;
+import com.example.foodorder.model.OrderItem;
+import com.example.foodorder.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a user's cart into an order. Reading the cart, inserting the order and its item rows,
+ * and clearing the cart happen in one Room transaction, so an order is never placed without
+ * its cart being emptied, and the charged total always matches the rows that were ordered.
+ */
+public class CheckoutService {
+    private static final String TAG = "CheckoutService";
+    public static final double DELIVERY_FEE = 2.99;
+    public static final double TAX_RATE = 0.08; // 8% tax
+
+    private static CheckoutService instance;
+
+    private final AppDatabase database;
+    private final CartItemDao cartItemDao;
+    private final OrderDao orderDao;
+    private final AppExecutors executors;
+
+    public static synchronized CheckoutService getInstance(Context context) {
+        if (instance == null) {
+            instance = new CheckoutService(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private CheckoutService(Context context) {
+        this(AppDatabase.getInstance(context), AppExecutors.getInstance());
+    }
+
+    CheckoutService(AppDatabase database, AppExecutors executors) {
+        this.database = database;
+        this.cartItemDao = database.cartItemDao();
+        this.orderDao = database.orderDao();
+        this.executors = executors;
+    }
+
+    public static double calculateTax(double subtotal) {
+        return subtotal * TAX_RATE;
+    }
+
+    public static double calculateTotal(double subtotal) {
+        return subtotal + DELIVERY_FEE + calculateTax(subtotal);
+    }
+
+    /**
+     * Place an order for everything in the user's cart. The listener is called on a background thread.
+     */
+    public void placeOrder(int userId, String deliveryAddress, String paymentMethod, OnCheckoutListener listener) {
+        executors.diskWrite().execute(() -> {
+            CheckoutResult result;
+            try {
+                result = database.runInTransaction(() -> checkout(userId, deliveryAddress, paymentMethod));
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Checkout failed for user " + userId, e);
+                if (listener != null) {
+                    listener.onCheckoutFailed("Could not place the order");
+                }
+                return;
+            }
+            if (listener == null) {
+                return;
+            }
+            if (result == null) {
+                listener.onCheckoutFailed("Your cart is empty");
+            } else {
+                listener.onOrderPlaced(result.getOrderId(), result.getTotalAmount());
+            }
+        });
+    }
+
+    /**
+     * Must run inside a transaction. Returns null if the cart is empty.
+     */
+    private CheckoutResult checkout(int userId, String deliveryAddress, String paymentMethod) {
+        List<CartItem> cartItems = cartItemDao.getCartItemsByUserIdSync(userId);
+        if (cartItems.isEmpty()) {
+            return null;
+        }
+
+        double subtotal = 0;
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (CartItem item : cartItems) {
+            subtotal += item.getSubtotal();
+            orderItems.add(new OrderItem(0, item.getFoodId(), item.getFoodName(),
+                    item.getFoodPrice(), item.getQuantity()));
+        }
+        double total = calculateTotal(subtotal);
+
+        Order order = new Order(userId, null, total, deliveryAddress, paymentMethod);
+        long orderId = orderDao.insertWithItems(order, orderItems);
+        cartItemDao.clearCart(userId);
+        return new CheckoutResult(orderId, total);
+    }
+
+    private static final class CheckoutResult {
+        private final long orderId;
+        private final double totalAmount;
+
+        CheckoutResult(long orderId, double totalAmount) {
+            this.orderId = orderId;
+            this.totalAmount = totalAmount;
+        }
+
+        long getOrderId() {
+            return orderId;
+        }
+
+        double getTotalAmount() {
+            return totalAmount;
+        }
+    }
+
+    public interface OnCheckoutListener {
+        void onOrderPlaced(long orderId, double totalAmount);
+        void onCheckoutFailed(String message);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.foodorder.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over a fixed set of keywords. Finds every keyword occurring as a
+ * substring of a text, or only as whole words, in one pass over the text, independent of how
+ * many keywords there are. Immutable once built, so one instance can be shared between threads.
+ *
+ * @param <T> value attached to each keyword and reported when it matches
+ */
+final class KeywordMatcher<T> {
+    private static final int ROOT = 0;
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Nearest state on the failure chain (excluding itself) that ends a keyword, or -1
+    private final int[] outputLink;
+    private final List<List<T>> outputs;
+    // Per state: length of the keywords ending there
+    private final int[] depth;
+
+    private KeywordMatcher(char[][] transitionChars, int[][] transitionTargets, int[] failure,
+                           int[] outputLink, List<List<T>> outputs, int[] depth) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.outputs = outputs;
+        this.depth = depth;
+    }
+
+    /**
+     * @return the values of all keywords found in text, once per occurrence
+     */
+    List<T> findAll(CharSequence text) {
+        return find(text, false);
+    }
+
+    /**
+     * Like {@link #findAll}, but only occurrences that are not preceded or followed by a letter
+     * or digit, so "hi" is found in "hi there" but not in "chicken".
+     */
+    List<T> findAllWords(CharSequence text) {
+        return find(text, true);
+    }
+
+    private List<T> find(CharSequence text, boolean wholeWords) {
+        List<T> matches = new ArrayList<>();
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(state, c);
+            while (next < 0 && state != ROOT) {
+                state = failure[state];
+                next = transition(state, c);
+            }
+            state = next < 0 ? ROOT : next;
+
+            boolean wordEnds = !wholeWords || i + 1 == text.length()
+                    || !Character.isLetterOrDigit(text.charAt(i + 1));
+            if (!wordEnds) {
+                continue;
+            }
+            for (int output = outputs.get(state).isEmpty() ? outputLink[state] : state;
+                 output >= 0; output = outputLink[output]) {
+                int start = i + 1 - depth[output];
+                if (!wholeWords || start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1))) {
+                    matches.addAll(outputs.get(output));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    static final class Builder<T> {
+        private final List<Map<Character, Integer>> trie = new ArrayList<>();
+        private final List<List<T>> outputs = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+
+        Builder() {
+            newState(0);
+        }
+
+        /**
+         * Empty keywords are ignored.
+         */
+        Builder<T> add(String keyword, T value) {
+            if (keyword == null || keyword.isEmpty()) {
+                return this;
+            }
+            int state = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = newState(i + 1);
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(value);
+            return this;
+        }
+
+        private int newState(int depth) {
+            trie.add(new HashMap<>());
+            outputs.add(new ArrayList<>());
+            depths.add(depth);
+            return trie.size() - 1;
+        }
+
+        KeywordMatcher<T> build() {
+            int stateCount = trie.size();
+            char[][] transitionChars = new char[stateCount][];
+            int[][] transitionTargets = new int[stateCount][];
+            for (int state = 0; state < stateCount; state++) {
+                Map<Character, Integer> edges = trie.get(state);
+                char[] chars = new char[edges.size()];
+                int i = 0;
+                for (char c : edges.keySet()) {
+                    chars[i++] = c;
+                }
+                Arrays.sort(chars);
+                int[] targets = new int[chars.length];
+                for (i = 0; i < chars.length; i++) {
+                    targets[i] = edges.get(chars[i]);
+                }
+                transitionChars[state] = chars;
+                transitionTargets[state] = targets;
+            }
+
+            // Breadth-first, so every state's failure target is finished before its children need it
+            int[] failure = new int[stateCount];
+            int[] outputLink = new int[stateCount];
+            outputLink[ROOT] = -1;
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : transitionTargets[ROOT]) {
+                failure[child] = ROOT;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                for (int i = 0; i < transitionChars[state].length; i++) {
+                    char c = transitionChars[state][i];
+                    int child = transitionTargets[state][i];
+                    int fallback = failure[state];
+                    int target = findTarget(transitionChars, transitionTargets, fallback, c);
+                    while (target < 0 && fallback != ROOT) {
+                        fallback = failure[fallback];
+                        target = findTarget(transitionChars, transitionTargets, fallback, c);
+                    }
+                    failure[child] = target < 0 ? ROOT : target;
+                    int failState = failure[child];
+                    outputLink[child] = !outputs.get(failState).isEmpty() ? failState : outputLink[failState];
+                    queue.add(child);
+                }
+            }
+
+            List<List<T>> frozenOutputs = new ArrayList<>(stateCount);
+            for (List<T> output : outputs) {
+                frozenOutputs.add(output.isEmpty() ? Collections.<T>emptyList() : Collections.unmodifiableList(output));
+            }
+            int[] depth = new int[stateCount];
+            for (int state = 0; state < stateCount; state++) {
+                depth[state] = depths.get(state);
+            }
+            return new KeywordMatcher<>(transitionChars, transitionTargets, failure, outputLink, frozenOutputs, depth);
+        }
+
+        private static int findTarget(char[][] chars, int[][] targets, int state, char c) {
+            int index = Arrays.binarySearch(chars[state], c);
+            return index >= 0 ? targets[state][index] : -1;
+        }
+    }
+}
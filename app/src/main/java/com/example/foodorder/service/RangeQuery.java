@@ -0,0 +1,135 @@
+package com.example.foodorder.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A price or preparation time bound asked for in a chat query, such as "under $15",
+ * "ready in 20 minutes" or "between $10 and $20". Answered by {@link ChatbotIndex#findInRange}.
+ */
+final class RangeQuery {
+    enum Kind {
+        PRICE, TIME
+    }
+
+    private static final String NUMBER = "(\\d+(?:\\.\\d+)?)";
+    private static final String UNIT = "(minutes?|mins?|dollars?|bucks)?";
+    private static final Pattern BETWEEN = Pattern.compile("(?:\\b(between|from)\\s+)?(\\$)?" + NUMBER
+            + "\\s*" + UNIT + "\\s*(?:and|to|-)\\s*\\$?" + NUMBER + "\\s*" + UNIT);
+    private static final Pattern BOUND = Pattern.compile("\\b(under|below|less than|cheaper than|up to"
+            + "|at most|within|in|over|above|more than|at least)\\s+(\\$)?" + NUMBER + "\\s*" + UNIT);
+
+    final Kind kind;
+    final double min;
+    final boolean minInclusive;
+    final double max;
+    final boolean maxInclusive;
+
+    private RangeQuery(Kind kind, double min, boolean minInclusive, double max, boolean maxInclusive) {
+        this.kind = kind;
+        this.min = min;
+        this.minInclusive = minInclusive;
+        this.max = max;
+        this.maxInclusive = maxInclusive;
+    }
+
+    static RangeQuery atMost(Kind kind, double max, boolean inclusive) {
+        return new RangeQuery(kind, 0, true, max, inclusive);
+    }
+
+    static RangeQuery atLeast(Kind kind, double min, boolean inclusive) {
+        return new RangeQuery(kind, min, inclusive, Double.MAX_VALUE, true);
+    }
+
+    /**
+     * @return the first range asked for in a normalized query, or null if it names none
+     */
+    static RangeQuery parse(String normalizedQuery) {
+        Matcher between = BETWEEN.matcher(normalizedQuery);
+        while (between.find()) {
+            String lowUnit = between.group(4);
+            String highUnit = between.group(6);
+            String unit = highUnit != null ? highUnit : lowUnit;
+            boolean dollar = between.group(2) != null;
+            // "2 to 3" alone is too vague; a keyword, a currency sign or a unit makes it a range
+            if (between.group(1) == null && !dollar && unit == null) {
+                continue;
+            }
+            double low = Double.parseDouble(between.group(3));
+            double high = Double.parseDouble(between.group(5));
+            Kind kind = isMinutes(unit) ? Kind.TIME : Kind.PRICE;
+            return new RangeQuery(kind, Math.min(low, high), true, Math.max(low, high), true);
+        }
+
+        Matcher bound = BOUND.matcher(normalizedQuery);
+        while (bound.find()) {
+            String keyword = bound.group(1);
+            String unit = bound.group(4);
+            // Bare "in 2" is usually not about time, unlike "ready in 20" or "in 20 minutes"
+            if (keyword.equals("in") && unit == null
+                    && !normalizedQuery.substring(0, bound.start()).trim().endsWith("ready")) {
+                continue;
+            }
+            boolean currency = bound.group(2) != null || (unit != null && !isMinutes(unit));
+            boolean time = isMinutes(unit) || keyword.equals("in") || keyword.equals("within");
+            Kind kind = !currency && time ? Kind.TIME : Kind.PRICE;
+            double value = Double.parseDouble(bound.group(3));
+            switch (keyword) {
+                case "under":
+                case "below":
+                case "less than":
+                case "cheaper than":
+                    return atMost(kind, value, false);
+                case "over":
+                case "above":
+                case "more than":
+                    return atLeast(kind, value, false);
+                case "at least":
+                    return atLeast(kind, value, true);
+                default:
+                    return atMost(kind, value, true);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isMinutes(String unit) {
+        return unit != null && unit.startsWith("min");
+    }
+
+    boolean hasUpperBound() {
+        return max != Double.MAX_VALUE;
+    }
+
+    boolean hasLowerBound() {
+        return min > 0 || !minInclusive;
+    }
+
+    /**
+     * Human-readable bound, e.g. "under $15" or "in 20 minutes or less"
+     */
+    String describe() {
+        if (kind == Kind.PRICE) {
+            if (hasLowerBound() && hasUpperBound()) {
+                return "$" + formatNumber(min) + " to $" + formatNumber(max);
+            }
+            if (hasUpperBound()) {
+                return (maxInclusive ? "up to $" : "under $") + formatNumber(max);
+            }
+            return (minInclusive ? "from $" : "over $") + formatNumber(min);
+        }
+        if (hasLowerBound() && hasUpperBound()) {
+            return "in " + formatNumber(min) + " to " + formatNumber(max) + " minutes";
+        }
+        if (hasUpperBound()) {
+            return maxInclusive ? "in " + formatNumber(max) + " minutes or less"
+                    : "in under " + formatNumber(max) + " minutes";
+        }
+        return minInclusive ? "in " + formatNumber(min) + " minutes or more"
+                : "in over " + formatNumber(min) + " minutes";
+    }
+
+    static String formatNumber(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.2f", value);
+    }
+}
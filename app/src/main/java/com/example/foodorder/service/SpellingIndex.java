@@ -0,0 +1,130 @@
+package com.example.foodorder.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Typo-tolerant lookup over a fixed vocabulary (symmetric delete). Every word is stored under
+ * each string reachable from it by deleting up to {@link #maxTypos} characters; two words within
+ * that edit distance always share such a string. A lookup therefore only generates the deletions
+ * of the query word and checks the few words stored under them, so its cost depends on the
+ * length of the word, not on the size of the vocabulary. Immutable once built.
+ */
+final class SpellingIndex {
+    private final Map<String, String[]> wordsByDeletion;
+
+    private SpellingIndex(Map<String, String[]> wordsByDeletion) {
+        this.wordsByDeletion = wordsByDeletion;
+    }
+
+    static SpellingIndex build(Iterable<String> words) {
+        Map<String, List<String>> lists = new HashMap<>();
+        for (String word : words) {
+            for (String deletion : deletions(word, maxTypos(word))) {
+                List<String> list = lists.get(deletion);
+                if (list == null) {
+                    list = new ArrayList<>(1);
+                    lists.put(deletion, list);
+                }
+                list.add(word);
+            }
+        }
+        Map<String, String[]> wordsByDeletion = new HashMap<>(lists.size() * 2);
+        for (Map.Entry<String, List<String>> entry : lists.entrySet()) {
+            wordsByDeletion.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+        return new SpellingIndex(wordsByDeletion);
+    }
+
+    /**
+     * Typos tolerated in a word of this length; short words tolerate fewer, or "ham" would
+     * match "jam". A match may be no further from either word than that word tolerates.
+     */
+    static int maxTypos(String word) {
+        if (word.length() <= 3) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * @return vocabulary words close enough to word, each with its edit distance
+     */
+    List<WordMatch> search(String word) {
+        List<WordMatch> matches = new ArrayList<>();
+        int queryTypos = maxTypos(word);
+        Set<String> checked = new HashSet<>();
+        for (String deletion : deletions(word, queryTypos)) {
+            String[] candidates = wordsByDeletion.get(deletion);
+            if (candidates == null) {
+                continue;
+            }
+            for (String candidate : candidates) {
+                if (!checked.add(candidate)) {
+                    continue;
+                }
+                int distance = levenshtein(word, candidate);
+                if (distance <= Math.min(queryTypos, maxTypos(candidate))) {
+                    matches.add(new WordMatch(candidate, distance));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The word itself and every string obtained from it by deleting up to maxDeletes characters
+     */
+    private static Set<String> deletions(String word, int maxDeletes) {
+        Set<String> result = new HashSet<>();
+        result.add(word);
+        List<String> frontier = new ArrayList<>(result);
+        for (int round = 0; round < maxDeletes; round++) {
+            List<String> next = new ArrayList<>();
+            for (String text : frontier) {
+                for (int i = 0; i < text.length(); i++) {
+                    String deletion = text.substring(0, i) + text.substring(i + 1);
+                    if (result.add(deletion)) {
+                        next.add(deletion);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return result;
+    }
+
+    static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static final class WordMatch {
+        final String word;
+        final int distance;
+
+        WordMatch(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    }
+}
@@ -23,16 +23,17 @@ public class LoginActivity extends AppCompatActivity {
         binding = ActivityLoginBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        userRepository = new UserRepository(getApplication());
-        sessionManager = new SessionManager(this);
-
-        // Check if user is already logged in
-        if (sessionManager.isLoggedIn()) {
-            navigateToFoodList();
-            return;
-        }
+        userRepository = UserRepository.getInstance(getApplication());
+        sessionManager = SessionManager.getInstance(this);
 
         setupClickListeners();
+
+        // Check if user is already logged in
+        sessionManager.whenLoaded(this, () -> {
+            if (sessionManager.isLoggedIn()) {
+                navigateToFoodList();
+            }
+        });
     }
 
     private void setupClickListeners() {
@@ -67,10 +68,6 @@ public class LoginActivity extends AppCompatActivity {
             runOnUiThread(() -> {
                 binding.btnLogin.setEnabled(true);
                 if (user != null) {
-                    // Update user login status
-                    user.setLoggedIn(true);
-                    userRepository.update(user);
-                    
                     // Create session
                     sessionManager.createLoginSession(user.getId(), user.getUsername(), user.getEmail());
                     
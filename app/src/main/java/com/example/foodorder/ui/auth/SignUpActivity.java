@@ -6,6 +6,7 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.foodorder.dao.UserDao;
 import com.example.foodorder.databinding.ActivitySignupBinding;
 import com.example.foodorder.model.User;
 import com.example.foodorder.repository.UserRepository;
@@ -21,7 +22,7 @@ public class SignUpActivity extends AppCompatActivity {
         binding = ActivitySignupBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        userRepository = new UserRepository(getApplication());
+        userRepository = UserRepository.getInstance(getApplication());
 
         setupClickListeners();
     }
@@ -72,40 +73,21 @@ public class SignUpActivity extends AppCompatActivity {
             return;
         }
 
-        // Check if email already exists
         binding.btnSignUp.setEnabled(false);
-        userRepository.getUserByEmail(email, existingUser -> {
-            if (existingUser != null) {
-                runOnUiThread(() -> {
-                    binding.btnSignUp.setEnabled(true);
+        User newUser = new User(username, email, password, phoneNumber, address);
+        userRepository.register(newUser, result -> {
+            runOnUiThread(() -> {
+                binding.btnSignUp.setEnabled(true);
+                if (result == UserDao.EMAIL_TAKEN) {
                     Toast.makeText(this, "Email already registered", Toast.LENGTH_SHORT).show();
-                });
-                return;
-            }
-
-            // Check if username already exists
-            userRepository.getUserByUsername(username, existingUsernameUser -> {
-                if (existingUsernameUser != null) {
-                    runOnUiThread(() -> {
-                        binding.btnSignUp.setEnabled(true);
-                        Toast.makeText(this, "Username already taken", Toast.LENGTH_SHORT).show();
-                    });
-                    return;
+                } else if (result == UserDao.USERNAME_TAKEN) {
+                    Toast.makeText(this, "Username already taken", Toast.LENGTH_SHORT).show();
+                } else if (result > 0) {
+                    Toast.makeText(this, "Registration successful! Please login.", Toast.LENGTH_SHORT).show();
+                    finish();
+                } else {
+                    Toast.makeText(this, "Registration failed. Please try again.", Toast.LENGTH_SHORT).show();
                 }
-
-                // Create new user
-                User newUser = new User(username, email, password, phoneNumber, address);
-                userRepository.insert(newUser, userId -> {
-                    runOnUiThread(() -> {
-                        binding.btnSignUp.setEnabled(true);
-                        if (userId > 0) {
-                            Toast.makeText(this, "Registration successful! Please login.", Toast.LENGTH_SHORT).show();
-                            finish();
-                        } else {
-                            Toast.makeText(this, "Registration failed. Please try again.", Toast.LENGTH_SHORT).show();
-                        }
-                    });
-                });
             });
         });
     }
@@ -6,31 +6,26 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.foodorder.databinding.ActivityBillingBinding;
 import com.example.foodorder.model.CartItem;
-import com.example.foodorder.model.Order;
-import com.example.foodorder.repository.CartRepository;
-import com.example.foodorder.repository.OrderRepository;
 import com.example.foodorder.repository.UserRepository;
+import com.example.foodorder.service.CheckoutService;
+import com.example.foodorder.ui.cart.CartViewModel;
 import com.example.foodorder.ui.food.FoodListActivity;
 import com.example.foodorder.utils.SessionManager;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
 import java.util.List;
 import java.util.Locale;
 
 public class BillingActivity extends AppCompatActivity {
     private ActivityBillingBinding binding;
-    private CartRepository cartRepository;
-    private OrderRepository orderRepository;
+    private CartViewModel cartViewModel;
+    private CheckoutService checkoutService;
     private UserRepository userRepository;
     private SessionManager sessionManager;
     private List<CartItem> cartItems;
-    private static final double DELIVERY_FEE = 2.99;
-    private static final double TAX_RATE = 0.08; // 8% tax
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -38,15 +33,20 @@ public class BillingActivity extends AppCompatActivity {
         binding = ActivityBillingBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        cartRepository = new CartRepository(getApplication());
-        orderRepository = new OrderRepository(getApplication());
-        userRepository = new UserRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        cartViewModel = new ViewModelProvider(this).get(CartViewModel.class);
+        checkoutService = CheckoutService.getInstance(this);
+        userRepository = UserRepository.getInstance(getApplication());
+        sessionManager = SessionManager.getInstance(this);
 
         setupToolbar();
-        loadUserAddress();
-        loadCartItems();
-        setupButtons();
+        sessionManager.whenLoaded(this, () -> {
+            if (savedInstanceState == null) {
+                // After a rotation the address field restores whatever the user typed
+                loadUserAddress();
+            }
+            loadCartItems();
+            setupButtons();
+        });
     }
 
     private void setupToolbar() {
@@ -71,7 +71,7 @@ public class BillingActivity extends AppCompatActivity {
 
     private void loadCartItems() {
         int userId = sessionManager.getUserId();
-        cartRepository.getCartItemsByUserId(userId).observe(this, items -> {
+        cartViewModel.getCartItems(userId).observe(this, items -> {
             if (items != null && !items.isEmpty()) {
                 cartItems = items;
                 displayOrderSummary(items);
@@ -99,11 +99,11 @@ public class BillingActivity extends AppCompatActivity {
             subtotal += item.getSubtotal();
         }
 
-        double tax = subtotal * TAX_RATE;
-        double total = subtotal + DELIVERY_FEE + tax;
+        double tax = CheckoutService.calculateTax(subtotal);
+        double total = CheckoutService.calculateTotal(subtotal);
 
         binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", subtotal));
-        binding.tvDeliveryFee.setText(String.format(Locale.US, "$%.2f", DELIVERY_FEE));
+        binding.tvDeliveryFee.setText(String.format(Locale.US, "$%.2f", CheckoutService.DELIVERY_FEE));
         binding.tvTax.setText(String.format(Locale.US, "$%.2f", tax));
         binding.tvTotal.setText(String.format(Locale.US, "$%.2f", total));
     }
@@ -127,55 +127,37 @@ public class BillingActivity extends AppCompatActivity {
             paymentMethod = "Online Payment";
         }
 
-        // Convert cart items to JSON string
-        String orderItemsJson = convertCartItemsToJson(cartItems);
-
-        // Calculate total
-        double subtotal = 0;
-        for (CartItem item : cartItems) {
-            subtotal += item.getSubtotal();
+        if (cartItems == null || cartItems.isEmpty()) {
+            return;
         }
-        double tax = subtotal * TAX_RATE;
-        double total = subtotal + DELIVERY_FEE + tax;
 
-        // Create order
+        // The order is built from the cart rows as stored when the transaction runs
         int userId = sessionManager.getUserId();
-        Order order = new Order(userId, orderItemsJson, total, address, paymentMethod);
-
         binding.btnPlaceOrder.setEnabled(false);
-        orderRepository.insert(order, orderId -> {
-            // Clear cart after order is placed
-            cartRepository.clearCart(userId);
-
-            runOnUiThread(() -> {
-                binding.btnPlaceOrder.setEnabled(true);
-                showOrderConfirmation(orderId);
-            });
-        });
-    }
+        checkoutService.placeOrder(userId, address, paymentMethod, new CheckoutService.OnCheckoutListener() {
+            @Override
+            public void onOrderPlaced(long orderId, double totalAmount) {
+                runOnUiThread(() -> {
+                    binding.btnPlaceOrder.setEnabled(true);
+                    showOrderConfirmation(orderId, totalAmount);
+                });
+            }
 
-    private String convertCartItemsToJson(List<CartItem> items) {
-        try {
-            JSONArray jsonArray = new JSONArray();
-            for (CartItem item : items) {
-                JSONObject jsonObject = new JSONObject();
-                jsonObject.put("foodId", item.getFoodId());
-                jsonObject.put("foodName", item.getFoodName());
-                jsonObject.put("price", item.getFoodPrice());
-                jsonObject.put("quantity", item.getQuantity());
-                jsonArray.put(jsonObject);
+            @Override
+            public void onCheckoutFailed(String message) {
+                runOnUiThread(() -> {
+                    binding.btnPlaceOrder.setEnabled(true);
+                    Toast.makeText(BillingActivity.this, message, Toast.LENGTH_SHORT).show();
+                });
             }
-            return jsonArray.toString();
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "[]";
-        }
+        });
     }
 
-    private void showOrderConfirmation(long orderId) {
+    private void showOrderConfirmation(long orderId, double totalAmount) {
         new AlertDialog.Builder(this)
                 .setTitle("Order Placed")
-                .setMessage("Your order #" + orderId + " has been placed successfully!")
+                .setMessage(String.format(Locale.US, "Your order #%d (total $%.2f) has been placed successfully!",
+                        orderId, totalAmount))
                 .setPositiveButton("OK", (dialog, which) -> {
                     Intent intent = new Intent(this, FoodListActivity.class);
                     intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
@@ -5,12 +5,13 @@ import android.os.Bundle;
 import android.view.View;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.foodorder.adapter.CartAdapter;
 import com.example.foodorder.databinding.ActivityCartBinding;
 import com.example.foodorder.model.CartItem;
-import com.example.foodorder.repository.CartRepository;
+import com.example.foodorder.service.CheckoutService;
 import com.example.foodorder.ui.billing.BillingActivity;
 import com.example.foodorder.utils.SessionManager;
 
@@ -20,10 +21,9 @@ import java.util.Locale;
 public class CartActivity extends AppCompatActivity {
     private ActivityCartBinding binding;
     private CartAdapter cartAdapter;
-    private CartRepository cartRepository;
+    private CartViewModel viewModel;
     private SessionManager sessionManager;
     private List<CartItem> cartItems;
-    private static final double DELIVERY_FEE = 2.99;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -31,13 +31,13 @@ public class CartActivity extends AppCompatActivity {
         binding = ActivityCartBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        cartRepository = new CartRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        viewModel = new ViewModelProvider(this).get(CartViewModel.class);
+        sessionManager = SessionManager.getInstance(this);
 
         setupToolbar();
         setupRecyclerView();
         setupButtons();
-        loadCartItems();
+        sessionManager.whenLoaded(this, this::loadCartItems);
     }
 
     private void setupToolbar() {
@@ -52,16 +52,17 @@ public class CartActivity extends AppCompatActivity {
     private void setupRecyclerView() {
         cartAdapter = new CartAdapter(new CartAdapter.OnCartItemActionListener() {
             @Override
-            public void onQuantityChanged(CartItem cartItem) {
-                cartRepository.update(cartItem);
+            public void onQuantityChanged(CartItem cartItem, int quantity) {
+                viewModel.setQuantity(cartItem, quantity);
                 calculateTotals();
             }
 
             @Override
             public void onRemoveItem(CartItem cartItem) {
-                cartRepository.delete(cartItem);
+                viewModel.delete(cartItem);
             }
         });
+        cartAdapter.setPendingQuantities(viewModel.getUnconfirmedQuantities());
 
         binding.rvCartItems.setLayoutManager(new LinearLayoutManager(this));
         binding.rvCartItems.setAdapter(cartAdapter);
@@ -78,8 +79,11 @@ public class CartActivity extends AppCompatActivity {
 
     private void loadCartItems() {
         int userId = sessionManager.getUserId();
-        cartRepository.getCartItemsByUserId(userId).observe(this, items -> {
+        viewModel.getCartItems(userId).observe(this, items -> {
             cartItems = items;
+            if (items != null) {
+                viewModel.onCartLoaded(items);
+            }
             if (items != null && !items.isEmpty()) {
                 cartAdapter.setCartItems(items);
                 binding.rvCartItems.setVisibility(View.VISIBLE);
@@ -100,16 +104,23 @@ public class CartActivity extends AppCompatActivity {
 
         double subtotal = 0;
         for (CartItem item : cartItems) {
-            subtotal += item.getSubtotal();
+            subtotal += item.getFoodPrice() * viewModel.getQuantity(item);
         }
 
-        double total = subtotal + DELIVERY_FEE;
+        double total = subtotal + CheckoutService.DELIVERY_FEE;
 
         binding.tvSubtotal.setText(String.format(Locale.US, "$%.2f", subtotal));
-        binding.tvDeliveryFee.setText(String.format(Locale.US, "$%.2f", DELIVERY_FEE));
+        binding.tvDeliveryFee.setText(String.format(Locale.US, "$%.2f", CheckoutService.DELIVERY_FEE));
         binding.tvTotal.setText(String.format(Locale.US, "$%.2f", total));
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Write buffered quantity changes before checkout or another screen reads the cart
+        viewModel.flushPendingChanges();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -0,0 +1,105 @@
+package com.example.foodorder.ui.cart;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.example.foodorder.model.CartItem;
+import com.example.foodorder.repository.CartRepository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects cart quantity changes and writes them in one transaction once the user stops tapping,
+ * so a burst of +/- taps costs one UPDATE and one cart re-query instead of one per tap.
+ * Only the latest quantity per cart item is kept. Must be used from the main thread.
+ */
+class CartMutationBuffer {
+    // Quiet period after the last tap before writing
+    static final long FLUSH_DELAY_MS = 400;
+    // Upper bound on how long a change may stay unwritten while the user keeps tapping
+    static final long MAX_FLUSH_DELAY_MS = 2000;
+
+    private final CartRepository cartRepository;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+    // cart item id -> quantity not yet written
+    private final Map<Integer, Integer> pendingWrites = new HashMap<>();
+    // cart item id -> quantity the cart query hasn't returned yet, pending or already written
+    private final Map<Integer, Integer> unconfirmedQuantities = new HashMap<>();
+    private long firstPendingAt;
+
+    CartMutationBuffer(CartRepository cartRepository) {
+        this.cartRepository = cartRepository;
+    }
+
+    void setQuantity(int cartItemId, int quantity) {
+        long now = SystemClock.uptimeMillis();
+        if (pendingWrites.isEmpty()) {
+            firstPendingAt = now;
+        }
+        pendingWrites.put(cartItemId, quantity);
+        unconfirmedQuantities.put(cartItemId, quantity);
+
+        long delay = Math.min(FLUSH_DELAY_MS, firstPendingAt + MAX_FLUSH_DELAY_MS - now);
+        handler.removeCallbacks(flushRunnable);
+        handler.postDelayed(flushRunnable, Math.max(0, delay));
+    }
+
+    /**
+     * Quantities to show instead of the stored ones, keyed by cart item id.
+     */
+    Map<Integer, Integer> getUnconfirmedQuantities() {
+        return Collections.unmodifiableMap(unconfirmedQuantities);
+    }
+
+    int getQuantity(CartItem cartItem) {
+        Integer quantity = unconfirmedQuantities.get(cartItem.getId());
+        return quantity != null ? quantity : cartItem.getQuantity();
+    }
+
+    /**
+     * Forget changes the cart query now reflects, or whose items are gone.
+     */
+    void onCartLoaded(List<CartItem> cartItems) {
+        Map<Integer, Integer> storedQuantities = new HashMap<>();
+        for (CartItem item : cartItems) {
+            storedQuantities.put(item.getId(), item.getQuantity());
+        }
+        Iterator<Map.Entry<Integer, Integer>> iterator = unconfirmedQuantities.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            if (pendingWrites.containsKey(entry.getKey())) {
+                continue;
+            }
+            Integer stored = storedQuantities.get(entry.getKey());
+            if (stored == null || stored.equals(entry.getValue())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop the change of an item that is about to be removed.
+     */
+    void discard(int cartItemId) {
+        pendingWrites.remove(cartItemId);
+        unconfirmedQuantities.remove(cartItemId);
+        if (pendingWrites.isEmpty()) {
+            handler.removeCallbacks(flushRunnable);
+        }
+    }
+
+    void flush() {
+        handler.removeCallbacks(flushRunnable);
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+        cartRepository.updateQuantities(new HashMap<>(pendingWrites));
+        pendingWrites.clear();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.foodorder.ui.cart;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.example.foodorder.model.CartItem;
+import com.example.foodorder.repository.CartRepository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cart state for one cart or checkout screen. Each screen has its own instance, but both
+ * observe the same per-user query from {@link CartRepository}, so checkout starts from the
+ * items the cart last loaded while Room refreshes them.
+ */
+public class CartViewModel extends AndroidViewModel {
+    private final CartRepository cartRepository;
+    private final CartMutationBuffer mutationBuffer;
+
+    public CartViewModel(@NonNull Application application) {
+        super(application);
+        cartRepository = CartRepository.getInstance(application);
+        mutationBuffer = new CartMutationBuffer(cartRepository);
+    }
+
+    public LiveData<List<CartItem>> getCartItems(int userId) {
+        return cartRepository.getCartItemsByUserId(userId);
+    }
+
+    public void onCartLoaded(List<CartItem> cartItems) {
+        mutationBuffer.onCartLoaded(cartItems);
+    }
+
+    /**
+     * Buffered: the write happens after a short pause, see {@link CartMutationBuffer}.
+     */
+    public void setQuantity(CartItem cartItem, int quantity) {
+        mutationBuffer.setQuantity(cartItem.getId(), quantity);
+    }
+
+    /**
+     * @return the quantity the user sees, including changes not written yet
+     */
+    public int getQuantity(CartItem cartItem) {
+        return mutationBuffer.getQuantity(cartItem);
+    }
+
+    public Map<Integer, Integer> getUnconfirmedQuantities() {
+        return mutationBuffer.getUnconfirmedQuantities();
+    }
+
+    public void flushPendingChanges() {
+        mutationBuffer.flush();
+    }
+
+    public void delete(CartItem cartItem) {
+        mutationBuffer.discard(cartItem.getId());
+        cartRepository.delete(cartItem);
+    }
+
+    @Override
+    protected void onCleared() {
+        mutationBuffer.flush();
+    }
+}
@@ -28,18 +28,20 @@ public class ChatActivity extends AppCompatActivity {
         binding = ActivityChatBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        messageRepository = new MessageRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        messageRepository = MessageRepository.getInstance(getApplication());
+        sessionManager = SessionManager.getInstance(this);
         chatbotService = ChatbotService.getInstance(this);
         handler = new Handler(Looper.getMainLooper());
 
         setupToolbar();
         setupRecyclerView();
-        setupButtons();
-        loadMessages();
-        
-        // Send welcome message if no messages exist
-        sendWelcomeMessageIfNeeded();
+        sessionManager.whenLoaded(this, () -> {
+            setupButtons();
+            loadMessages();
+
+            // Send welcome message if no messages exist
+            sendWelcomeMessageIfNeeded();
+        });
     }
 
     private void setupToolbar() {
@@ -104,12 +106,11 @@ public class ChatActivity extends AppCompatActivity {
 
         binding.etMessage.setText("");
         
-        // Process query with chatbot and respond after a short delay
-        handler.postDelayed(() -> {
-            String response = chatbotService.processQuery(messageText);
+        // Process query with chatbot in the background and respond after a short delay
+        handler.postDelayed(() -> chatbotService.processQuery(messageText, response -> {
             Message botMessage = new Message(userId, response, false);
             messageRepository.insert(botMessage);
-        }, 800);
+        }), 800);
     }
 
     @Override
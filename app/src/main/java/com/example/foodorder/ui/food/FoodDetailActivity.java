@@ -5,12 +5,12 @@ import android.os.Bundle;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.foodorder.databinding.ActivityFoodDetailBinding;
 import com.example.foodorder.model.CartItem;
 import com.example.foodorder.model.Food;
 import com.example.foodorder.repository.CartRepository;
-import com.example.foodorder.repository.FoodRepository;
 import com.example.foodorder.ui.review.ReviewActivity;
 import com.example.foodorder.utils.SessionManager;
 
@@ -18,7 +18,7 @@ import java.util.Locale;
 
 public class FoodDetailActivity extends AppCompatActivity {
     private ActivityFoodDetailBinding binding;
-    private FoodRepository foodRepository;
+    private FoodDetailViewModel viewModel;
     private CartRepository cartRepository;
     private SessionManager sessionManager;
     private Food currentFood;
@@ -30,13 +30,14 @@ public class FoodDetailActivity extends AppCompatActivity {
         binding = ActivityFoodDetailBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        foodRepository = new FoodRepository(getApplication());
-        cartRepository = new CartRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        viewModel = new ViewModelProvider(this).get(FoodDetailViewModel.class);
+        cartRepository = CartRepository.getInstance(getApplication());
+        sessionManager = SessionManager.getInstance(this);
 
         setupToolbar();
         setupQuantityControls();
-        setupButtons();
+        // Adding to the cart reads the session, so it is enabled once the session is loaded
+        sessionManager.whenLoaded(this, this::setupButtons);
         
         int foodId = getIntent().getIntExtra("FOOD_ID", -1);
         if (foodId != -1) {
@@ -81,7 +82,7 @@ public class FoodDetailActivity extends AppCompatActivity {
     }
 
     private void loadFoodDetails(int foodId) {
-        foodRepository.getFoodById(foodId).observe(this, food -> {
+        viewModel.getFood(foodId).observe(this, food -> {
             if (food != null) {
                 currentFood = food;
                 displayFoodDetails(food);
@@ -123,30 +124,19 @@ public class FoodDetailActivity extends AppCompatActivity {
             return;
         }
 
-        // Check if item already exists in cart
-        cartRepository.getCartItem(userId, currentFood.getId(), existingItem -> {
-            if (existingItem != null) {
-                // Update existing item
-                existingItem.setQuantity(existingItem.getQuantity() + quantity);
-                cartRepository.update(existingItem);
-            } else {
-                // Add new item
-                CartItem newItem = new CartItem(
-                        userId,
-                        currentFood.getId(),
-                        currentFood.getName(),
-                        currentFood.getPrice(),
-                        currentFood.getImageUrl(),
-                        quantity
-                );
-                cartRepository.insert(newItem);
-            }
-
-            runOnUiThread(() -> {
-                Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show();
-                finish();
-            });
-        });
+        CartItem item = new CartItem(
+                userId,
+                currentFood.getId(),
+                currentFood.getName(),
+                currentFood.getPrice(),
+                currentFood.getImageUrl(),
+                quantity
+        );
+        binding.btnAddToCart.setEnabled(false);
+        cartRepository.addToCart(item, () -> runOnUiThread(() -> {
+            Toast.makeText(this, "Added to cart", Toast.LENGTH_SHORT).show();
+            finish();
+        }));
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.example.foodorder.ui.food;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.example.foodorder.model.Food;
+import com.example.foodorder.repository.FoodRepository;
+
+/**
+ * Keeps the observed food across configuration changes so a rotation doesn't query it again.
+ */
+public class FoodDetailViewModel extends AndroidViewModel {
+    private final FoodRepository foodRepository;
+    private LiveData<Food> food;
+    private int foodId = -1;
+
+    public FoodDetailViewModel(@NonNull Application application) {
+        super(application);
+        foodRepository = FoodRepository.getInstance(application);
+    }
+
+    public LiveData<Food> getFood(int foodId) {
+        if (food == null || this.foodId != foodId) {
+            this.foodId = foodId;
+            food = foodRepository.getFoodById(foodId);
+        }
+        return food;
+    }
+}
@@ -6,31 +6,40 @@ import android.text.Editable;
 import android.text.TextWatcher;
 import android.view.Menu;
 import android.view.MenuItem;
+import android.view.View;
 
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.foodorder.R;
 import com.example.foodorder.adapter.FoodAdapter;
 import com.example.foodorder.databinding.ActivityFoodListBinding;
+import com.example.foodorder.model.Category;
 import com.example.foodorder.model.Food;
-import com.example.foodorder.repository.FoodRepository;
+import com.example.foodorder.service.CatalogService;
+import com.example.foodorder.service.CatalogSnapshot;
 import com.example.foodorder.ui.auth.LoginActivity;
 import com.example.foodorder.ui.cart.CartActivity;
 import com.example.foodorder.ui.chat.ChatActivity;
 import com.example.foodorder.ui.location.MapActivity;
 import com.example.foodorder.ui.order.OrderHistoryActivity;
 import com.example.foodorder.utils.SessionManager;
+import com.google.android.material.chip.Chip;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class FoodListActivity extends AppCompatActivity {
     private ActivityFoodListBinding binding;
     private FoodAdapter foodAdapter;
-    private FoodRepository foodRepository;
+    private FoodListViewModel viewModel;
+    private CatalogService catalogService;
     private SessionManager sessionManager;
-    private LiveData<List<Food>> currentFoodList;
+    private List<String> shownCategoryNames = Collections.emptyList();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -38,17 +47,18 @@ public class FoodListActivity extends AppCompatActivity {
         binding = ActivityFoodListBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        sessionManager = new SessionManager(this);
-        foodRepository = new FoodRepository(getApplication());
+        sessionManager = SessionManager.getInstance(this);
+        viewModel = new ViewModelProvider(this).get(FoodListViewModel.class);
+        catalogService = CatalogService.getInstance(this);
 
         setupToolbar();
         setupRecyclerView();
         setupSearchListener();
+        setupCategoryChips();
         setupSwipeRefresh();
         setupFabButton();
-        
-        loadFoods();
-        populateSampleData();
+
+        viewModel.getFoods().observe(this, pagingData -> foodAdapter.submitData(getLifecycle(), pagingData));
     }
 
     private void setupToolbar() {
@@ -76,11 +86,7 @@ public class FoodListActivity extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                if (s.length() > 0) {
-                    searchFoods(s.toString());
-                } else {
-                    loadFoods();
-                }
+                viewModel.search(s.toString());
             }
 
             @Override
@@ -88,59 +94,73 @@ public class FoodListActivity extends AppCompatActivity {
         });
     }
 
-    private void setupSwipeRefresh() {
-        binding.swipeRefreshLayout.setOnRefreshListener(() -> {
-            loadFoods();
-            binding.swipeRefreshLayout.setRefreshing(false);
-        });
-    }
+    private void setupCategoryChips() {
+        catalogService.getSnapshotLiveData().observe(this, this::populateCategoryChips);
 
-    private void setupFabButton() {
-        binding.fabCart.setOnClickListener(v -> {
-            Intent intent = new Intent(this, CartActivity.class);
-            startActivity(intent);
+        binding.chipGroup.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            View checkedChip = checkedIds.isEmpty() ? null : group.findViewById(checkedIds.get(0));
+            if (checkedChip == null || checkedChip.getId() == binding.chipAll.getId()) {
+                viewModel.showAll();
+            } else {
+                viewModel.filterByCategory((String) checkedChip.getTag());
+            }
         });
     }
 
-    private void loadFoods() {
-        if (currentFoodList != null) {
-            currentFoodList.removeObservers(this);
+    private void populateCategoryChips(CatalogSnapshot catalog) {
+        Set<Integer> categoryIdsWithFoods = new HashSet<>();
+        for (Food food : catalog.getFoods()) {
+            categoryIdsWithFoods.add(food.getCategoryId());
         }
-        currentFoodList = foodRepository.getAllFoods();
-        currentFoodList.observe(this, foods -> {
-            if (foods != null) {
-                foodAdapter.setFoodList(foods);
+        List<String> categoryNames = new ArrayList<>();
+        for (Category category : catalog.getCategories()) {
+            if (categoryIdsWithFoods.contains(category.getId())) {
+                categoryNames.add(category.getName());
             }
-        });
-    }
+        }
+        // A snapshot is published on every foods change, rating updates included; the chips,
+        // and with them the user's selection, are only touched when the categories change
+        if (categoryNames.equals(shownCategoryNames)) {
+            return;
+        }
+        shownCategoryNames = categoryNames;
 
-    private void searchFoods(String query) {
-        if (currentFoodList != null) {
-            currentFoodList.removeObservers(this);
+        // Keep the "All" chip and the chips of categories still listed, drop the rest
+        for (int i = binding.chipGroup.getChildCount() - 1; i >= 0; i--) {
+            View child = binding.chipGroup.getChildAt(i);
+            if (child.getId() != binding.chipAll.getId() && !categoryNames.contains(child.getTag())) {
+                binding.chipGroup.removeViewAt(i);
+            }
         }
-        currentFoodList = foodRepository.searchFoods(query);
-        currentFoodList.observe(this, foods -> {
-            if (foods != null) {
-                foodAdapter.setFoodList(foods);
+        // Add new categories in catalog order after "All"
+        for (int i = 0; i < categoryNames.size(); i++) {
+            String categoryName = categoryNames.get(i);
+            if (binding.chipGroup.findViewWithTag(categoryName) != null) {
+                continue;
             }
-        });
+            Chip chip = (Chip) getLayoutInflater().inflate(R.layout.item_category_chip, binding.chipGroup, false);
+            chip.setId(View.generateViewId());
+            chip.setText(categoryName);
+            chip.setTag(categoryName);
+            binding.chipGroup.addView(chip, i + 1);
+        }
+        if (binding.chipGroup.getCheckedChipIds().isEmpty()) {
+            binding.chipAll.setChecked(true);
+        }
     }
 
-    private void populateSampleData() {
-        // Add sample foods if database is empty
-        foodRepository.getAllFoods().observe(this, foods -> {
-            if (foods == null || foods.isEmpty()) {
-                addSampleFoods();
-            }
+    private void setupSwipeRefresh() {
+        binding.swipeRefreshLayout.setOnRefreshListener(() -> {
+            foodAdapter.refresh();
+            binding.swipeRefreshLayout.setRefreshing(false);
         });
     }
 
-    private void addSampleFoods() {
-        foodRepository.insert(new Food("Margherita Pizza", "Classic pizza with tomato sauce and mozzarella", 12.99, "", "Pizza", "Tomato, Mozzarella, Basil"));
-        foodRepository.insert(new Food("Cheeseburger", "Juicy beef patty with cheese, lettuce, and tomato", 9.99, "", "Burgers", "Beef, Cheese, Lettuce, Tomato"));
-        foodRepository.insert(new Food("Caesar Salad", "Fresh romaine lettuce with Caesar dressing", 7.99, "", "Salads", "Romaine, Parmesan, Croutons"));
-        foodRepository.insert(new Food("Spaghetti Carbonara", "Italian pasta with bacon and creamy sauce", 11.99, "", "Pasta", "Pasta, Bacon, Eggs, Parmesan"));
-        foodRepository.insert(new Food("Chicken Wings", "Spicy buffalo wings with ranch dressing", 8.99, "", "Appetizers", "Chicken, Buffalo Sauce"));
+    private void setupFabButton() {
+        binding.fabCart.setOnClickListener(v -> {
+            Intent intent = new Intent(this, CartActivity.class);
+            startActivity(intent);
+        });
     }
 
     @Override
@@ -0,0 +1,91 @@
+package com.example.foodorder.ui.food;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.example.foodorder.model.FoodSummary;
+import com.example.foodorder.repository.FoodRepository;
+
+import java.util.Objects;
+
+/**
+ * Holds the food list across configuration changes. The pages of the current filter (full menu,
+ * search or category) are cached once, on the switched stream, so rotation replays them without
+ * querying again; changing the filter releases the previous filter's pages.
+ */
+public class FoodListViewModel extends AndroidViewModel {
+    private final FoodRepository foodRepository;
+    private final MutableLiveData<Filter> filter = new MutableLiveData<>(Filter.ALL);
+    private final LiveData<PagingData<FoodSummary>> foods;
+
+    public FoodListViewModel(@NonNull Application application) {
+        super(application);
+        foodRepository = FoodRepository.getInstance(application);
+        foods = PagingLiveData.cachedIn(Transformations.switchMap(filter, this::loadFoods), this);
+    }
+
+    public LiveData<PagingData<FoodSummary>> getFoods() {
+        return foods;
+    }
+
+    public void showAll() {
+        setFilter(Filter.ALL);
+    }
+
+    public void search(String query) {
+        setFilter(query == null || query.isEmpty() ? Filter.ALL : new Filter(query, null));
+    }
+
+    public void filterByCategory(String category) {
+        setFilter(category == null ? Filter.ALL : new Filter(null, category));
+    }
+
+    private void setFilter(Filter newFilter) {
+        // Restored views replay their state after rotation; don't re-run an identical query
+        if (!newFilter.equals(filter.getValue())) {
+            filter.setValue(newFilter);
+        }
+    }
+
+    private LiveData<PagingData<FoodSummary>> loadFoods(Filter current) {
+        if (current.searchQuery != null) {
+            return foodRepository.searchPagedFoodSummaries(current.searchQuery);
+        }
+        if (current.category != null) {
+            return foodRepository.getPagedFoodSummariesByCategory(current.category);
+        }
+        return foodRepository.getPagedFoodSummaries();
+    }
+
+    private static final class Filter {
+        static final Filter ALL = new Filter(null, null);
+
+        final String searchQuery;
+        final String category;
+
+        Filter(String searchQuery, String category) {
+            this.searchQuery = searchQuery;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Filter)) return false;
+            Filter other = (Filter) o;
+            return Objects.equals(searchQuery, other.searchQuery) && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(searchQuery, category);
+        }
+    }
+}
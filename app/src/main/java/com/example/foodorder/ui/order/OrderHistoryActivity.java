@@ -4,17 +4,20 @@ import android.os.Bundle;
 import android.view.View;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.example.foodorder.adapter.OrderAdapter;
 import com.example.foodorder.databinding.ActivityOrderHistoryBinding;
-import com.example.foodorder.repository.OrderRepository;
 import com.example.foodorder.utils.SessionManager;
 
+import kotlin.Unit;
+
 public class OrderHistoryActivity extends AppCompatActivity {
     private ActivityOrderHistoryBinding binding;
     private OrderAdapter orderAdapter;
-    private OrderRepository orderRepository;
+    private OrderHistoryViewModel viewModel;
     private SessionManager sessionManager;
 
     @Override
@@ -23,12 +26,12 @@ public class OrderHistoryActivity extends AppCompatActivity {
         binding = ActivityOrderHistoryBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        orderRepository = new OrderRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        viewModel = new ViewModelProvider(this).get(OrderHistoryViewModel.class);
+        sessionManager = SessionManager.getInstance(this);
 
         setupToolbar();
         setupRecyclerView();
-        loadOrders();
+        sessionManager.whenLoaded(this, this::loadOrders);
     }
 
     private void setupToolbar() {
@@ -45,22 +48,23 @@ public class OrderHistoryActivity extends AppCompatActivity {
             // Order click - could show order details
         });
 
+        orderAdapter.addLoadStateListener(loadStates -> {
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                boolean isEmpty = orderAdapter.getItemCount() == 0;
+                binding.rvOrders.setVisibility(isEmpty ? View.GONE : View.VISIBLE);
+                binding.tvEmptyOrders.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
+            }
+            return Unit.INSTANCE;
+        });
+
         binding.rvOrders.setLayoutManager(new LinearLayoutManager(this));
         binding.rvOrders.setAdapter(orderAdapter);
     }
 
     private void loadOrders() {
         int userId = sessionManager.getUserId();
-        orderRepository.getOrdersByUserId(userId).observe(this, orders -> {
-            if (orders != null && !orders.isEmpty()) {
-                orderAdapter.setOrders(orders);
-                binding.rvOrders.setVisibility(View.VISIBLE);
-                binding.tvEmptyOrders.setVisibility(View.GONE);
-            } else {
-                binding.rvOrders.setVisibility(View.GONE);
-                binding.tvEmptyOrders.setVisibility(View.VISIBLE);
-            }
-        });
+        viewModel.getOrders(userId).observe(this,
+                pagingData -> orderAdapter.submitData(getLifecycle(), pagingData));
     }
 
     @Override
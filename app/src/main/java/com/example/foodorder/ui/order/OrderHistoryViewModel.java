@@ -0,0 +1,35 @@
+package com.example.foodorder.ui.order;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+
+import com.example.foodorder.model.OrderSummary;
+import com.example.foodorder.repository.OrderRepository;
+
+/**
+ * Holds the paged order history across configuration changes, so rotating the screen
+ * replays the pages already loaded instead of querying them again.
+ */
+public class OrderHistoryViewModel extends AndroidViewModel {
+    private final OrderRepository orderRepository;
+    private LiveData<PagingData<OrderSummary>> orders;
+    private int ordersUserId;
+
+    public OrderHistoryViewModel(@NonNull Application application) {
+        super(application);
+        orderRepository = OrderRepository.getInstance(application);
+    }
+
+    public LiveData<PagingData<OrderSummary>> getOrders(int userId) {
+        if (orders == null || ordersUserId != userId) {
+            ordersUserId = userId;
+            orders = PagingLiveData.cachedIn(orderRepository.getPagedOrderSummariesByUserId(userId), this);
+        }
+        return orders;
+    }
+}
@@ -26,8 +26,8 @@ public class ReviewActivity extends AppCompatActivity {
         binding = ActivityReviewBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
-        reviewRepository = new ReviewRepository(getApplication());
-        sessionManager = new SessionManager(this);
+        reviewRepository = ReviewRepository.getInstance(getApplication());
+        sessionManager = SessionManager.getInstance(this);
 
         foodId = getIntent().getIntExtra("FOOD_ID", -1);
         if (foodId == -1) {
@@ -37,7 +37,8 @@ public class ReviewActivity extends AppCompatActivity {
 
         setupToolbar();
         setupRecyclerView();
-        setupButtons();
+        // Submitting reads the session, so it is enabled once the session is loaded
+        sessionManager.whenLoaded(this, this::setupButtons);
         loadReviews();
     }
 
@@ -0,0 +1,99 @@
+package com.example.foodorder.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide executors shared by every repository and service.
+ * Thread count is fixed no matter how many screens are opened:
+ * - diskRead: interactive queries, also Room's query and transaction executor; slightly above the writers since a screen waits on them
+ * - diskWrite: interactive writes, kept on one thread so they apply in submission order
+ * - bulkWrite: imports and other large writes, at lower priority so they yield to the UI and to reads
+ * - mainThread: posts results back to the UI thread
+ */
+public class AppExecutors {
+    public static final int READ_THREAD_COUNT = 4;
+
+    private static volatile AppExecutors instance;
+
+    private final ExecutorService diskRead;
+    private final ExecutorService diskWrite;
+    private final ExecutorService bulkWrite;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        diskRead = Executors.newFixedThreadPool(READ_THREAD_COUNT,
+                new PriorityThreadFactory("db-read",
+                        Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_MORE_FAVORABLE));
+        diskWrite = Executors.newSingleThreadExecutor(
+                new PriorityThreadFactory("db-write", Process.THREAD_PRIORITY_BACKGROUND));
+        bulkWrite = Executors.newSingleThreadExecutor(
+                new PriorityThreadFactory("db-bulk",
+                        Process.THREAD_PRIORITY_BACKGROUND + Process.THREAD_PRIORITY_LESS_FAVORABLE));
+        mainThread = new MainThreadExecutor();
+    }
+
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public ExecutorService diskRead() {
+        return diskRead;
+    }
+
+    public ExecutorService diskWrite() {
+        return diskWrite;
+    }
+
+    public ExecutorService bulkWrite() {
+        return bulkWrite;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mainThreadHandler.post(command);
+        }
+    }
+
+    private static class PriorityThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        PriorityThreadFactory(String namePrefix, int priority) {
+            this.namePrefix = namePrefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(priority);
+                runnable.run();
+            }, namePrefix + "-" + count.getAndIncrement());
+        }
+    }
+}
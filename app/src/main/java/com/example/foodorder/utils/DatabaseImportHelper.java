@@ -24,10 +24,12 @@ public class DatabaseImportHelper {
     
     private final Context context;
     private final FoodRepository foodRepository;
+    private final FoodImageStore imageStore;
     
     public DatabaseImportHelper(Context context, FoodRepository foodRepository) {
         this.context = context;
         this.foodRepository = foodRepository;
+        this.imageStore = new FoodImageStore(context);
     }
     
     /**
@@ -56,9 +58,16 @@ public class DatabaseImportHelper {
                 return false;
             }
             
+            // Save image to the image store
+            String imageRef = imageStore.put(imageData);
+            if (imageRef == null) {
+                Log.e(TAG, "Failed to store image for: " + name);
+                return false;
+            }
+            
             // Create Food object
             Food food = new Food(name, description, price, "", category, ingredients);
-            food.setImageData(imageData);
+            food.setImageRef(imageRef);
             
             // Insert into database
             foodRepository.insert(food);
@@ -97,9 +106,16 @@ public class DatabaseImportHelper {
                 return false;
             }
             
+            // Save image to the image store
+            String imageRef = imageStore.put(imageData);
+            if (imageRef == null) {
+                Log.e(TAG, "Failed to store image for: " + name);
+                return false;
+            }
+            
             // Create Food object
             Food food = new Food(name, description, price, "", category, ingredients);
-            food.setImageData(imageData);
+            food.setImageRef(imageRef);
             
             // Insert into database
             foodRepository.insert(food);
@@ -115,27 +131,112 @@ public class DatabaseImportHelper {
     /**
      * Batch import multiple food items
      * @param foodItems List of FoodImportItem objects
-     * @return Number of successfully imported items
+     * @return Number of items prepared and queued for insertion
      */
     public int batchImportFoods(List<FoodImportItem> foodItems) {
+        return batchImportFoods(foodItems, null);
+    }
+    
+    /**
+     * Batch import multiple food items, committing them in chunks of
+     * {@link FoodRepository#DEFAULT_BATCH_SIZE} rows per transaction
+     * @param foodItems List of FoodImportItem objects
+     * @param listener Receives progress, per-item failures (indexes into foodItems) and the final counts
+     * @return Number of items prepared and queued for insertion
+     */
+    public int batchImportFoods(List<FoodImportItem> foodItems, FoodRepository.OnBatchInsertListener listener) {
         if (foodItems == null || foodItems.isEmpty()) {
             Log.w(TAG, "No food items to import");
+            if (listener != null) {
+                listener.onComplete(0, 0);
+            }
             return 0;
         }
         
-        int successCount = 0;
-        for (FoodImportItem item : foodItems) {
-            boolean success = importFoodWithImage(
-                item.name, item.description, item.price,
-                item.drawableResourceId, item.category, item.ingredients
-            );
-            if (success) {
-                successCount++;
+        // Validate and store images up front, one image store batch per insert chunk;
+        // only valid rows go to the database
+        List<Food> foods = new ArrayList<>();
+        List<Integer> sourceIndexes = new ArrayList<>();
+        for (int start = 0; start < foodItems.size(); start += FoodRepository.DEFAULT_BATCH_SIZE) {
+            int end = Math.min(start + FoodRepository.DEFAULT_BATCH_SIZE, foodItems.size());
+            List<Food> chunk = prepareFoods(foodItems.subList(start, end));
+            for (int i = start; i < end; i++) {
+                Food food = chunk.get(i - start);
+                if (food != null) {
+                    foods.add(food);
+                    sourceIndexes.add(i);
+                } else if (listener != null) {
+                    listener.onItemFailed(i, null,
+                            new IllegalArgumentException("Invalid data or image for: " + foodItems.get(i).name));
+                }
             }
         }
+        int rejectedCount = foodItems.size() - foods.size();
         
-        Log.d(TAG, "Batch import completed: " + successCount + "/" + foodItems.size() + " items");
-        return successCount;
+        foodRepository.insertAll(foods, new FoodRepository.OnBatchInsertListener() {
+            @Override
+            public void onProgress(int processedCount, int totalCount) {
+                if (listener != null) {
+                    listener.onProgress(processedCount + rejectedCount, foodItems.size());
+                }
+            }
+            
+            @Override
+            public void onItemFailed(int index, Food food, Exception error) {
+                Log.e(TAG, "Error importing food: " + food.getName(), error);
+                if (listener != null) {
+                    listener.onItemFailed(sourceIndexes.get(index), food, error);
+                }
+            }
+            
+            @Override
+            public void onComplete(int insertedCount, int failedCount) {
+                Log.d(TAG, "Batch import completed: " + insertedCount + "/" + foodItems.size() + " items");
+                if (listener != null) {
+                    listener.onComplete(insertedCount, failedCount + rejectedCount);
+                }
+            }
+        });
+        return foods.size();
+    }
+    
+    /**
+     * Validate import items and store their images in one batch
+     * @return Foods ready to insert, in item order, with null for each invalid item
+     */
+    private List<Food> prepareFoods(List<FoodImportItem> items) {
+        List<byte[]> images = new ArrayList<>(items.size());
+        for (FoodImportItem item : items) {
+            boolean valid = validateFoodData(item.name, item.description, item.price, item.category, item.ingredients);
+            byte[] imageData = null;
+            if (!valid) {
+                Log.e(TAG, "Invalid food data");
+            } else {
+                imageData = loadImageFromResource(item.drawableResourceId);
+                if (imageData == null) {
+                    Log.e(TAG, "Failed to load image for: " + item.name);
+                }
+            }
+            images.add(imageData);
+        }
+        List<String> imageRefs = imageStore.putAll(images);
+
+        List<Food> foods = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            FoodImportItem item = items.get(i);
+            String imageRef = imageRefs.get(i);
+            if (imageRef == null) {
+                if (images.get(i) != null) {
+                    Log.e(TAG, "Failed to store image for: " + item.name);
+                }
+                foods.add(null);
+                continue;
+            }
+            Food food = new Food(item.name, item.description, item.price, "", item.category, item.ingredients);
+            food.setImageRef(imageRef);
+            foods.add(food);
+        }
+        return foods;
     }
     
     /**
@@ -179,7 +280,7 @@ public class DatabaseImportHelper {
     }
     
     /**
-     * Compress image to reduce database size
+     * Compress image to reduce storage size
      */
     private byte[] compressImage(Bitmap bitmap) {
         try {
@@ -0,0 +1,177 @@
+package com.example.foodorder.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps food images as files in app-private storage instead of BLOB columns.
+ * Files are named by the SHA-1 of their content, so the returned reference is stable
+ * and identical images are stored once. Foods only keep that reference in the database.
+ */
+public class FoodImageStore {
+    private static final String TAG = "FoodImageStore";
+    private static final String DIRECTORY_NAME = "food_images";
+    private static final String FILE_EXTENSION = ".jpg";
+
+    private final File directory;
+
+    public FoodImageStore(Context context) {
+        this.directory = new File(context.getApplicationContext().getFilesDir(), DIRECTORY_NAME);
+    }
+
+    /**
+     * Store image bytes
+     * @param imageData Encoded image bytes
+     * @return Reference to save on the food row, or null if the image could not be written
+     */
+    public String put(byte[] imageData) {
+        List<String> imageRefs = putAll(Collections.singletonList(imageData));
+        return imageRefs.get(0);
+    }
+
+    /**
+     * Store a batch of images with a single sync pass. Every file is written first and
+     * all of them are flushed together afterwards, so an import pays one flush barrier
+     * per batch instead of stalling on a flush after each image.
+     * @param images Encoded image bytes
+     * @return References in the same order as images; null for any image that could not be written
+     */
+    public List<String> putAll(List<byte[]> images) {
+        List<String> imageRefs = new ArrayList<>(images.size());
+        Map<String, File> pendingFiles = new LinkedHashMap<>();
+        for (byte[] imageData : images) {
+            String imageRef = null;
+            if (imageData != null && imageData.length > 0) {
+                imageRef = hash(imageData);
+                if (!pendingFiles.containsKey(imageRef) && !isStored(imageRef, imageData.length)) {
+                    File tempFile = writeTempFile(imageRef, imageData);
+                    if (tempFile != null) {
+                        pendingFiles.put(imageRef, tempFile);
+                    } else {
+                        imageRef = null;
+                    }
+                }
+            }
+            imageRefs.add(imageRef);
+        }
+
+        // Flush the whole batch, then move it into place; a crash never leaves a truncated image
+        Set<String> failedRefs = new HashSet<>();
+        for (Map.Entry<String, File> entry : pendingFiles.entrySet()) {
+            if (!sync(entry.getValue())) {
+                Log.e(TAG, "Error syncing image " + entry.getKey());
+                failedRefs.add(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, File> entry : pendingFiles.entrySet()) {
+            File tempFile = entry.getValue();
+            if (failedRefs.contains(entry.getKey())) {
+                tempFile.delete();
+            } else if (!tempFile.renameTo(getFile(entry.getKey()))) {
+                Log.e(TAG, "Error moving image into place: " + entry.getKey());
+                tempFile.delete();
+                failedRefs.add(entry.getKey());
+            }
+        }
+        if (!failedRefs.isEmpty()) {
+            for (int i = 0; i < imageRefs.size(); i++) {
+                if (failedRefs.contains(imageRefs.get(i))) {
+                    imageRefs.set(i, null);
+                }
+            }
+        }
+        return imageRefs;
+    }
+
+    private boolean isStored(String imageRef, int length) {
+        File file = getFile(imageRef);
+        return file.exists() && file.length() == length;
+    }
+
+    private File writeTempFile(String imageRef, byte[] imageData) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.e(TAG, "Unable to create image directory");
+            return null;
+        }
+        File tempFile = new File(directory, imageRef + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+            outputStream.write(imageData);
+            return tempFile;
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing image " + imageRef, e);
+            tempFile.delete();
+            return null;
+        }
+    }
+
+    private static boolean sync(File file) {
+        try (FileOutputStream outputStream = new FileOutputStream(file, true)) {
+            outputStream.getFD().sync();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read image bytes back
+     * @param imageRef Reference returned by {@link #put(byte[])}
+     * @return Image bytes, or null if there is no such image
+     */
+    public byte[] get(String imageRef) {
+        if (imageRef == null || imageRef.isEmpty()) {
+            return null;
+        }
+        File file = getFile(imageRef);
+        if (!file.exists()) {
+            return null;
+        }
+        byte[] imageData = new byte[(int) file.length()];
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < imageData.length) {
+                int read = inputStream.read(imageData, offset, imageData.length - offset);
+                if (read < 0) {
+                    break;
+                }
+                offset += read;
+            }
+            return imageData;
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading image " + imageRef, e);
+            return null;
+        }
+    }
+
+    public File getFile(String imageRef) {
+        return new File(directory, imageRef + FILE_EXTENSION);
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(data);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
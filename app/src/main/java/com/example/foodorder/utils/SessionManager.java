@@ -2,48 +2,245 @@ package com.example.foodorder.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.database.sqlite.SQLiteConstraintException;
+import android.os.Looper;
+import android.util.Log;
 
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.foodorder.dao.SessionDao;
+import com.example.foodorder.database.AppDatabase;
+import com.example.foodorder.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Process-wide login session. Getters read an immutable in-memory {@link UserSession} snapshot;
+ * the sessions table is the only stored copy. It is read once, on a background thread, and
+ * written behind on the disk write executor. Loading starts when the application is created.
+ * Getters never wait for it: screens make their first session read from {@link #whenLoaded}
+ * or a change listener, so a screen restored after process death never blocks on the disk.
+ */
 public class SessionManager {
-    private static final String PREF_NAME = "FoodOrderSession";
-    private static final String KEY_USER_ID = "user_id";
-    private static final String KEY_IS_LOGGED_IN = "is_logged_in";
-    private static final String KEY_USERNAME = "username";
-    private static final String KEY_EMAIL = "email";
+    private static final String TAG = "SessionManager";
+    // Sessions were kept in SharedPreferences before the sessions table; read once to carry a login over
+    private static final String LEGACY_PREF_NAME = "FoodOrderSession";
+    private static final String LEGACY_KEY_USER_ID = "user_id";
+    private static final String LEGACY_KEY_IS_LOGGED_IN = "is_logged_in";
+    private static final String LEGACY_KEY_USERNAME = "username";
+    private static final String LEGACY_KEY_EMAIL = "email";
+
+    private static volatile SessionManager instance;
+
+    private final Context appContext;
+    private final AppExecutors executors;
+    private final SessionDao sessionDao;
+    private final List<OnSessionChangedListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Runnable> pendingLoadCallbacks = new ArrayList<>();
+    private volatile UserSession session = UserSession.LOGGED_OUT;
+    private boolean loaded;
+    // Set when the session changes before the stored one has been read; the change wins
+    private boolean changedBeforeLoad;
 
-    private SharedPreferences sharedPreferences;
-    private SharedPreferences.Editor editor;
+    public static SessionManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SessionManager.class) {
+                if (instance == null) {
+                    instance = new SessionManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private SessionManager(Context appContext) {
+        this(appContext, AppDatabase.getInstance(appContext), AppExecutors.getInstance());
+    }
 
-    public SessionManager(Context context) {
-        sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-        editor = sharedPreferences.edit();
+    SessionManager(Context appContext, AppDatabase database, AppExecutors executors) {
+        this.appContext = appContext;
+        this.executors = executors;
+        this.sessionDao = database.sessionDao();
+        executors.diskRead().execute(this::load);
+    }
+
+    private void load() {
+        User user = sessionDao.getSessionUser();
+        UserSession stored = user != null
+                ? new UserSession(user.getId(), user.getUsername(), user.getEmail())
+                : readLegacySession();
+
+        List<Runnable> callbacks;
+        synchronized (this) {
+            if (!changedBeforeLoad) {
+                session = stored;
+                if (user == null && stored.isLoggedIn()) {
+                    // Queued under the lock, so a later login or logout is written after it
+                    executors.diskWrite().execute(() -> persist(stored));
+                }
+            }
+            loaded = true;
+            callbacks = new ArrayList<>(pendingLoadCallbacks);
+            pendingLoadCallbacks.clear();
+        }
+        for (Runnable callback : callbacks) {
+            executors.mainThread().execute(callback);
+        }
+    }
+
+    /**
+     * Run callback on the main thread once the stored session has been read; right away if
+     * it already has been and this is the main thread.
+     */
+    public void whenLoaded(Runnable callback) {
+        synchronized (this) {
+            if (!loaded) {
+                pendingLoadCallbacks.add(callback);
+                return;
+            }
+        }
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            callback.run();
+        } else {
+            executors.mainThread().execute(callback);
+        }
+    }
+
+    /**
+     * Like {@link #whenLoaded(Runnable)}, but the callback is dropped if owner has been
+     * destroyed by the time the session is loaded.
+     */
+    public void whenLoaded(LifecycleOwner owner, Runnable callback) {
+        whenLoaded(() -> {
+            if (owner.getLifecycle().getCurrentState() != Lifecycle.State.DESTROYED) {
+                callback.run();
+            }
+        });
+    }
+
+    /**
+     * The current session; {@link UserSession#LOGGED_OUT} until the stored one has been read.
+     * Never blocks.
+     */
+    public UserSession getSession() {
+        return session;
     }
 
     public void createLoginSession(int userId, String username, String email) {
-        editor.putInt(KEY_USER_ID, userId);
-        editor.putString(KEY_USERNAME, username);
-        editor.putString(KEY_EMAIL, email);
-        editor.putBoolean(KEY_IS_LOGGED_IN, true);
-        editor.apply();
+        setSession(new UserSession(userId, username, email));
     }
 
     public void logout() {
-        editor.clear();
-        editor.apply();
+        setSession(UserSession.LOGGED_OUT);
     }
 
     public boolean isLoggedIn() {
-        return sharedPreferences.getBoolean(KEY_IS_LOGGED_IN, false);
+        return getSession().isLoggedIn();
     }
 
     public int getUserId() {
-        return sharedPreferences.getInt(KEY_USER_ID, -1);
+        return getSession().getUserId();
     }
 
     public String getUsername() {
-        return sharedPreferences.getString(KEY_USERNAME, "");
+        return getSession().getUsername();
     }
 
     public String getEmail() {
-        return sharedPreferences.getString(KEY_EMAIL, "");
+        return getSession().getEmail();
+    }
+
+    public void addOnSessionChangedListener(OnSessionChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOnSessionChangedListener(OnSessionChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void setSession(UserSession newSession) {
+        synchronized (this) {
+            if (!loaded) {
+                changedBeforeLoad = true;
+            }
+            session = newSession;
+            // Writes run in order on the single write thread, so the last change is what ends up stored
+            executors.diskWrite().execute(() -> persist(newSession));
+        }
+        for (OnSessionChangedListener listener : listeners) {
+            executors.mainThread().execute(() -> listener.onSessionChanged(newSession));
+        }
+    }
+
+    private void persist(UserSession sessionToStore) {
+        try {
+            if (sessionToStore.isLoggedIn()) {
+                sessionDao.startSession(sessionToStore.getUserId());
+            } else {
+                sessionDao.clear();
+            }
+        } catch (SQLiteConstraintException e) {
+            Log.w(TAG, "Failed to store session for missing user " + sessionToStore.getUserId(), e);
+        }
+    }
+
+    /**
+     * Read a login stored by an older version and delete the preferences file, so the sessions
+     * table is the only copy from then on.
+     */
+    private UserSession readLegacySession() {
+        SharedPreferences preferences = appContext.getSharedPreferences(LEGACY_PREF_NAME, Context.MODE_PRIVATE);
+        if (preferences.getAll().isEmpty()) {
+            return UserSession.LOGGED_OUT;
+        }
+        UserSession legacy = preferences.getBoolean(LEGACY_KEY_IS_LOGGED_IN, false)
+                ? new UserSession(preferences.getInt(LEGACY_KEY_USER_ID, -1),
+                        preferences.getString(LEGACY_KEY_USERNAME, ""),
+                        preferences.getString(LEGACY_KEY_EMAIL, ""))
+                : UserSession.LOGGED_OUT;
+        if (!preferences.edit().clear().commit()) {
+            Log.w(TAG, "Failed to clear legacy session");
+        }
+        return legacy;
+    }
+
+    /**
+     * Immutable view of who is logged in.
+     */
+    public static final class UserSession {
+        public static final UserSession LOGGED_OUT = new UserSession(-1, "", "");
+
+        private final int userId;
+        private final String username;
+        private final String email;
+
+        UserSession(int userId, String username, String email) {
+            this.userId = userId;
+            this.username = username;
+            this.email = email;
+        }
+
+        public boolean isLoggedIn() {
+            return userId != -1;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    public interface OnSessionChangedListener {
+        void onSessionChanged(UserSession session);
     }
 }
@@ -0,0 +1,92 @@
+package com.example.foodorder.repository;
+
+import com.example.foodorder.model.FoodMatch;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FoodSearchRankerTest {
+    private static final int ROWS = 100;
+    private static final int[] AVERAGE_LENGTHS = {2, 10, 8, 1};
+    private static final int[] LENGTHS = {2, 10, 8, 1};
+
+    @Test
+    public void nameHitOutranksDescriptionHit() {
+        float inName = FoodSearchRanker.score(matchInfo(LENGTHS, phrase(new int[] {1, 0, 0, 0}, 10)));
+        float inDescription = FoodSearchRanker.score(matchInfo(LENGTHS, phrase(new int[] {0, 1, 0, 0}, 10)));
+        assertTrue(inName > inDescription);
+    }
+
+    @Test
+    public void shorterFieldOutranksLongerOne() {
+        int[] shortName = {1, 10, 8, 1};
+        int[] longName = {6, 10, 8, 1};
+        float inShortName = FoodSearchRanker.score(matchInfo(shortName, phrase(new int[] {1, 0, 0, 0}, 10)));
+        float inLongName = FoodSearchRanker.score(matchInfo(longName, phrase(new int[] {1, 0, 0, 0}, 10)));
+        assertTrue(inShortName > inLongName);
+    }
+
+    @Test
+    public void rareTermOutranksCommonTerm() {
+        float rare = FoodSearchRanker.score(matchInfo(LENGTHS, phrase(new int[] {1, 0, 0, 0}, 2)));
+        float common = FoodSearchRanker.score(matchInfo(LENGTHS, phrase(new int[] {1, 0, 0, 0}, 60)));
+        assertTrue(rare > common);
+    }
+
+    @Test
+    public void everyPhraseAddsToTheScore() {
+        int[][] one = phrase(new int[] {1, 0, 0, 0}, 10);
+        int[][] two = {one[0], one[1], new int[] {0, 1, 0, 0}, new int[] {0, 10, 0, 0}};
+        assertTrue(FoodSearchRanker.score(matchInfo(LENGTHS, two))
+                > FoodSearchRanker.score(matchInfo(LENGTHS, one)));
+    }
+
+    @Test
+    public void ranksBestFirstAndBreaksTiesById() {
+        byte[] nameHit = matchInfo(LENGTHS, phrase(new int[] {1, 0, 0, 0}, 10));
+        byte[] descriptionHit = matchInfo(LENGTHS, phrase(new int[] {0, 1, 0, 0}, 10));
+        int[] ranked = FoodSearchRanker.rank(Arrays.asList(
+                new FoodMatch(7, descriptionHit),
+                new FoodMatch(9, nameHit),
+                new FoodMatch(3, nameHit)));
+        assertArrayEquals(new int[] {3, 9, 7}, ranked);
+    }
+
+    /** One phrase: its hits in this row per column, and the rows containing it per column. */
+    private static int[][] phrase(int[] rowHits, int rowsWithHit) {
+        int[] docs = new int[rowHits.length];
+        for (int c = 0; c < rowHits.length; c++) {
+            docs[c] = rowHits[c] > 0 ? rowsWithHit : 0;
+        }
+        return new int[][] {rowHits, docs};
+    }
+
+    /** Builds a matchinfo 'pcnalx' blob; phrases holds (rowHits, rowsWithHit) pairs. */
+    private static byte[] matchInfo(int[] lengths, int[][] phrases) {
+        int phraseCount = phrases.length / 2;
+        int columns = lengths.length;
+        ByteBuffer buffer = ByteBuffer.allocate(4 * (3 + 2 * columns + 3 * phraseCount * columns))
+                .order(ByteOrder.nativeOrder());
+        buffer.putInt(phraseCount).putInt(columns).putInt(ROWS);
+        for (int average : AVERAGE_LENGTHS) {
+            buffer.putInt(average);
+        }
+        for (int length : lengths) {
+            buffer.putInt(length);
+        }
+        for (int p = 0; p < phraseCount; p++) {
+            for (int c = 0; c < columns; c++) {
+                int rowHits = phrases[2 * p][c];
+                int rowsWithHit = phrases[2 * p + 1][c];
+                buffer.putInt(rowHits).putInt(rowsWithHit).putInt(rowsWithHit);
+            }
+        }
+        return buffer.array();
+    }
+}
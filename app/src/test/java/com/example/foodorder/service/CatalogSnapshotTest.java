@@ -0,0 +1,45 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Food;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CatalogSnapshotTest {
+    @Test
+    public void ratingsAndImagesDoNotChangeContent() {
+        List<Food> updated = TestCatalog.foods();
+        Food food = updated.get(0);
+        food.setAverageRating(4.5);
+        food.setReviewCount(2);
+        food.setRatingSum(9);
+        food.setImageRef("0123abcd");
+        assertTrue(CatalogSnapshot.sameContent(TestCatalog.foods(), updated));
+    }
+
+    @Test
+    public void indexedFieldsChangeContent() {
+        List<Food> renamed = TestCatalog.foods();
+        renamed.get(0).setName("Margherita");
+        assertFalse(CatalogSnapshot.sameContent(TestCatalog.foods(), renamed));
+
+        List<Food> soldOut = TestCatalog.foods();
+        soldOut.get(3).setAvailable(false);
+        assertFalse(CatalogSnapshot.sameContent(TestCatalog.foods(), soldOut));
+
+        List<Food> repriced = TestCatalog.foods();
+        repriced.get(5).setPrice(1.99);
+        assertFalse(CatalogSnapshot.sameContent(TestCatalog.foods(), repriced));
+    }
+
+    @Test
+    public void addedOrRemovedFoodsChangeContent() {
+        List<Food> fewer = TestCatalog.foods();
+        fewer.remove(fewer.size() - 1);
+        assertFalse(CatalogSnapshot.sameContent(TestCatalog.foods(), fewer));
+    }
+}
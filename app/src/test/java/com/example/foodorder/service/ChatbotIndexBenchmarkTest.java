@@ -0,0 +1,168 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Resolves queries against a generated 10k-food catalog with {@link ChatbotIndex} and with the
+ * sequential contains() chain it replaced: both must agree, and the index must be faster.
+ */
+public class ChatbotIndexBenchmarkTest {
+    private static final int FOOD_COUNT = 10_000;
+    private static final int QUERY_COUNT = 300;
+    private static final String CONSONANTS = "bcdfghklmnprstvz";
+    private static final String VOWELS = "aeiou";
+
+    // Intent keywords in priority order, as in ChatbotIndex
+    private static final String[][] INTENT_KEYWORDS = {
+            {"hello", "hi", "hey", "greetings", "good morning", "good afternoon", "good evening"},
+            {"menu", "browse", "what do you have", "what's available"},
+            {"fast", "quick", "in a hurry", "fast food"},
+            {"healthy", "salad", "vegetarian", "veggie", "light"},
+            {"location", "address", "where", "branch"},
+            {"recommend", "best", "popular", "top rated"},
+            {"cheap", "affordable", "budget", "under"},
+            {"expensive", "premium", "high-end"}
+    };
+    private static final ChatbotIndex.Intent[] KEYWORD_INTENTS = {
+            ChatbotIndex.Intent.GREETING, ChatbotIndex.Intent.MENU, ChatbotIndex.Intent.FAST_FOOD,
+            ChatbotIndex.Intent.HEALTHY, ChatbotIndex.Intent.LOCATION, ChatbotIndex.Intent.BEST_FOOD,
+            ChatbotIndex.Intent.AFFORDABLE, ChatbotIndex.Intent.PREMIUM
+    };
+    private static final String[] HELP_KEYWORDS = {"help", "what can you do"};
+
+    private CatalogSnapshot catalog;
+    private String[] queries;
+
+    @Before
+    public void setUp() {
+        Random random = new Random(42);
+        List<Food> foods = TestCatalog.foods();
+        while (foods.size() < FOOD_COUNT) {
+            String name = word(random) + " " + word(random) + (random.nextBoolean() ? " " + word(random) : "");
+            foods.add(TestCatalog.food(foods.size() + 1, name, "house special", "secret",
+                    random.nextInt(TestCatalog.CATEGORIES.length), 1 + random.nextInt(40),
+                    1 + random.nextInt(45), random.nextInt(2), random.nextBoolean()));
+        }
+        catalog = TestCatalog.snapshot(foods);
+
+        queries = new String[QUERY_COUNT];
+        for (int i = 0; i < queries.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    queries[i] = "show me the " + foods.get(random.nextInt(foods.size())).getName() + " please";
+                    break;
+                case 1:
+                    queries[i] = "any " + TestCatalog.CATEGORIES[random.nextInt(TestCatalog.CATEGORIES.length)]
+                            + " for lunch?";
+                    break;
+                case 2:
+                    queries[i] = "hi, what do you recommend";
+                    break;
+                default:
+                    queries[i] = word(random) + " " + word(random) + " " + word(random);
+                    break;
+            }
+            queries[i] = ChatbotIndex.normalize(queries[i]);
+        }
+    }
+
+    @Test
+    public void resolveMatchesSequentialScanOn10kFoods() {
+        ChatbotIndex index = new ChatbotIndex(catalog);
+        for (String query : queries) {
+            ChatbotIndex.Match indexed = index.resolve(query);
+            ChatbotIndex.Match scanned = resolveSequentially(catalog, query);
+            assertEquals(query, scanned.intent, indexed.intent);
+            assertEquals(query, scanned.index, indexed.index);
+        }
+    }
+
+    /**
+     * Timing only; skipped unless the unit tests run with -Pbenchmark.
+     */
+    @Test
+    public void resolveIsFasterThanSequentialScanOn10kFoods() {
+        Assume.assumeTrue(Boolean.getBoolean("benchmark"));
+        ChatbotIndex index = new ChatbotIndex(catalog);
+        // One untimed pass each, so the timing below is not mostly class loading and JIT
+        timeQueries(index::resolve);
+        timeQueries(query -> resolveSequentially(catalog, query));
+        long indexedNanos = timeQueries(index::resolve);
+        long scannedNanos = timeQueries(query -> resolveSequentially(catalog, query));
+        assertTrue("index " + indexedNanos + " ns, sequential " + scannedNanos + " ns",
+                indexedNanos < scannedNanos);
+    }
+
+    private long timeQueries(Function<String, ChatbotIndex.Match> resolver) {
+        long start = System.nanoTime();
+        for (String query : queries) {
+            resolver.apply(query);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * The chain of contains() checks ChatbotService ran before the index, with whole-word matching
+     */
+    private static ChatbotIndex.Match resolveSequentially(CatalogSnapshot catalog, String query) {
+        for (int i = 0; i < INTENT_KEYWORDS.length; i++) {
+            for (String keyword : INTENT_KEYWORDS[i]) {
+                if (containsWord(query, keyword)) {
+                    return new ChatbotIndex.Match(KEYWORD_INTENTS[i], 0);
+                }
+            }
+        }
+        List<Category> categories = catalog.getCategories();
+        for (int i = 0; i < categories.size(); i++) {
+            if (containsWord(query, ChatbotIndex.normalize(categories.get(i).getName()))) {
+                return new ChatbotIndex.Match(ChatbotIndex.Intent.CATEGORY, i);
+            }
+        }
+        List<Food> foods = catalog.getFoods();
+        for (int i = 0; i < foods.size(); i++) {
+            if (containsWord(query, ChatbotIndex.normalize(foods.get(i).getName()))) {
+                return new ChatbotIndex.Match(ChatbotIndex.Intent.FOOD, i);
+            }
+        }
+        for (String keyword : HELP_KEYWORDS) {
+            if (containsWord(query, keyword)) {
+                return new ChatbotIndex.Match(ChatbotIndex.Intent.HELP, 0);
+            }
+        }
+        return ChatbotIndex.Match.NONE;
+    }
+
+    private static boolean containsWord(String text, String word) {
+        for (int start = text.indexOf(word); start >= 0; start = text.indexOf(word, start + 1)) {
+            int end = start + word.length();
+            if ((start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())))
+                    .append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ChatbotIndexTest {
+    private final ChatbotIndex index = new ChatbotIndex(TestCatalog.snapshot());
+
+    @Test
+    public void greetingOnlyMatchesAsWholeWord() {
+        assertEquals(ChatbotIndex.Intent.GREETING, index.resolve("hi").intent);
+        assertEquals(ChatbotIndex.Intent.GREETING, index.resolve("oh, hi!").intent);
+        assertEquals(ChatbotIndex.Intent.CATEGORY, index.resolve("any sushi today?").intent);
+        assertEquals("Sushi", index.getCategory(index.resolve("any sushi today?")).getName());
+    }
+
+    @Test
+    public void spicyChickenWithRiceReachesSearch() {
+        String query = "spicy chicken with rice";
+        ChatbotIndex.Match match = index.resolve(ChatbotIndex.normalize(query));
+
+        assertEquals(ChatbotIndex.Intent.CATEGORY, match.intent);
+        assertEquals("Chicken", index.getCategory(match).getName());
+        assertTrue(index.hasSearchTermsBeyond(query, "Chicken"));
+        List<Food> results = index.search(query, 5);
+        assertFalse(results.isEmpty());
+        assertEquals("Chicken", TestCatalog.CATEGORIES[results.get(0).getCategoryId()]);
+    }
+
+    @Test
+    public void misspelledFoodNameResolvesApproximately() {
+        ChatbotIndex.Match match = index.resolveApproximately("margarita piza");
+
+        assertEquals(ChatbotIndex.Intent.FOOD, match.intent);
+        assertEquals("Margherita Pizza", index.getFood(match).getName());
+        assertEquals("Chicken Wings", index.getFood(index.resolveApproximately("chiken wngs")).getName());
+    }
+
+    @Test
+    public void misspelledCategoryResolvesWhenNoFoodIsCovered() {
+        ChatbotIndex.Match match = index.resolveApproximately("any sushy left?");
+
+        assertEquals(ChatbotIndex.Intent.CATEGORY, match.intent);
+        assertEquals("Sushi", index.getCategory(match).getName());
+        assertEquals(ChatbotIndex.Match.NONE, index.resolveApproximately("qwerty zxcv"));
+    }
+
+    @Test
+    public void findInRangeAgreesWithLinearFilter() {
+        Random random = new Random(11);
+        List<Food> foods = TestCatalog.foods();
+        for (int i = 0; i < 500; i++) {
+            // Whole-dollar prices and shared times, so bounds often fall exactly on a value
+            Food food = TestCatalog.food(foods.size() + 1, "Dish " + i, "", "",
+                    random.nextInt(TestCatalog.CATEGORIES.length), random.nextInt(40),
+                    random.nextInt(60), 0, false);
+            food.setAvailable(random.nextInt(10) > 0);
+            foods.add(food);
+        }
+        ChatbotIndex large = new ChatbotIndex(TestCatalog.snapshot(foods));
+
+        for (int i = 0; i < 200; i++) {
+            RangeQuery.Kind kind = random.nextBoolean() ? RangeQuery.Kind.PRICE : RangeQuery.Kind.TIME;
+            double bound = random.nextInt(60);
+            RangeQuery range;
+            switch (i % 3) {
+                case 0:
+                    range = RangeQuery.atMost(kind, bound, random.nextBoolean());
+                    break;
+                case 1:
+                    range = RangeQuery.atLeast(kind, bound, random.nextBoolean());
+                    break;
+                default:
+                    range = RangeQuery.parse("between " + (int) bound + " and " + random.nextInt(60)
+                            + (kind == RangeQuery.Kind.TIME ? " minutes" : " dollars"));
+                    break;
+            }
+            String label = kind + " " + range.describe();
+
+            List<Food> found = large.findInRange(range);
+            for (int j = 1; j < found.size(); j++) {
+                assertTrue(label, valueOf(found.get(j - 1), kind) <= valueOf(found.get(j), kind));
+            }
+            assertEquals(label, idsOf(filterLinearly(foods, range)), sortedIdsOf(found));
+        }
+    }
+
+    @Test
+    public void chickenUnderFifteenOnlyListsChicken() {
+        String query = ChatbotIndex.normalize("Chicken under $15");
+        RangeQuery range = RangeQuery.parse(query);
+        Category category = index.findCategory(query);
+
+        assertEquals(RangeQuery.Kind.PRICE, range.kind);
+        assertEquals(15, range.max, 0);
+        assertEquals("Chicken", category.getName());
+        List<Food> results = index.findInRange(range, category);
+        assertEquals(2, results.size());
+        for (Food food : results) {
+            assertEquals("Chicken", food.getCategory());
+            assertTrue(food.getPrice() < 15);
+        }
+        assertNull(index.findCategory("anything under $15"));
+        assertEquals(index.findInRange(range), index.findInRange(range, null));
+    }
+
+    private static List<Food> filterLinearly(List<Food> foods, RangeQuery range) {
+        List<Food> result = new ArrayList<>();
+        for (Food food : foods) {
+            double value = valueOf(food, range.kind);
+            boolean aboveMin = range.minInclusive ? value >= range.min : value > range.min;
+            boolean belowMax = range.maxInclusive ? value <= range.max : value < range.max;
+            if (food.isAvailable() && aboveMin && belowMax) {
+                result.add(food);
+            }
+        }
+        return result;
+    }
+
+    private static double valueOf(Food food, RangeQuery.Kind kind) {
+        return kind == RangeQuery.Kind.PRICE ? food.getPrice() : food.getTimeValue();
+    }
+
+    private static List<Integer> idsOf(List<Food> foods) {
+        List<Integer> ids = new ArrayList<>();
+        for (Food food : foods) {
+            ids.add(food.getId());
+        }
+        return ids;
+    }
+
+    private static List<Integer> sortedIdsOf(List<Food> foods) {
+        List<Integer> ids = idsOf(foods);
+        Collections.sort(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.foodorder.service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class KeywordMatcherTest {
+    @Test
+    public void findAllAgreesWithContains() {
+        // A two-letter alphabet makes keywords overlap and nest, which exercises the failure links
+        Random random = new Random(42);
+        List<String> keywords = new ArrayList<>();
+        KeywordMatcher.Builder<String> builder = new KeywordMatcher.Builder<>();
+        for (int i = 0; i < 200; i++) {
+            String keyword = randomText(random, "ab", 1 + random.nextInt(6));
+            keywords.add(keyword);
+            builder.add(keyword, keyword);
+        }
+        KeywordMatcher<String> matcher = builder.build();
+
+        for (int i = 0; i < 500; i++) {
+            String text = randomText(random, "ab ", random.nextInt(40));
+            List<String> expected = new ArrayList<>();
+            List<String> expectedWords = new ArrayList<>();
+            for (String keyword : keywords) {
+                for (int start = text.indexOf(keyword); start >= 0; start = text.indexOf(keyword, start + 1)) {
+                    expected.add(keyword);
+                    int end = start + keyword.length();
+                    if ((start == 0 || text.charAt(start - 1) == ' ')
+                            && (end == text.length() || text.charAt(end) == ' ')) {
+                        expectedWords.add(keyword);
+                    }
+                }
+            }
+            List<String> actual = new ArrayList<>(matcher.findAll(text));
+            List<String> actualWords = new ArrayList<>(matcher.findAllWords(text));
+            Collections.sort(expected);
+            Collections.sort(expectedWords);
+            Collections.sort(actual);
+            Collections.sort(actualWords);
+            assertEquals(text, expected, actual);
+            assertEquals(text, expectedWords, actualWords);
+        }
+    }
+
+    @Test
+    public void findAllWordsSkipsMatchesInsideWords() {
+        KeywordMatcher<String> matcher = new KeywordMatcher.Builder<String>()
+                .add("hi", "hi")
+                .add("chicken", "chicken")
+                .add("fast food", "fast food")
+                .build();
+
+        assertEquals(Collections.singletonList("chicken"), matcher.findAllWords("spicy chicken with rice"));
+        assertEquals(Collections.emptyList(), matcher.findAllWords("sushi"));
+        assertEquals(Arrays.asList("hi", "chicken"), matcher.findAllWords("hi! chicken?"));
+        assertEquals(Collections.singletonList("fast food"), matcher.findAllWords("any fast food"));
+        assertEquals(Collections.emptyList(), matcher.findAllWords("chickens"));
+        assertEquals(Arrays.asList("hi", "chicken"), matcher.findAll("chickens"));
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.foodorder.service;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RangeQueryTest {
+
+    @Test
+    public void upperPriceBound() {
+        RangeQuery range = RangeQuery.parse("chicken under $15");
+
+        assertEquals(RangeQuery.Kind.PRICE, range.kind);
+        assertEquals(15, range.max, 0);
+        assertFalse(range.maxInclusive);
+        assertFalse(range.hasLowerBound());
+        assertEquals("under $15", range.describe());
+        assertEquals("up to $12.50", RangeQuery.parse("up to 12.50 dollars").describe());
+    }
+
+    @Test
+    public void readyInMinutesIsAnInclusiveTimeBound() {
+        RangeQuery range = RangeQuery.parse("something ready in 20 minutes");
+
+        assertEquals(RangeQuery.Kind.TIME, range.kind);
+        assertEquals(20, range.max, 0);
+        assertTrue(range.maxInclusive);
+        assertEquals("in 20 minutes or less", range.describe());
+        assertEquals(RangeQuery.Kind.TIME, RangeQuery.parse("ready in 20").kind);
+        assertEquals(RangeQuery.Kind.TIME, RangeQuery.parse("within 15 mins").kind);
+    }
+
+    @Test
+    public void betweenIsInclusiveAtBothEnds() {
+        RangeQuery range = RangeQuery.parse("between $10 and $20");
+
+        assertEquals(RangeQuery.Kind.PRICE, range.kind);
+        assertEquals(10, range.min, 0);
+        assertTrue(range.minInclusive);
+        assertEquals(20, range.max, 0);
+        assertTrue(range.maxInclusive);
+        assertEquals("$10 to $20", range.describe());
+
+        RangeQuery reversed = RangeQuery.parse("from 30 to 10 minutes");
+        assertEquals(RangeQuery.Kind.TIME, reversed.kind);
+        assertEquals(10, reversed.min, 0);
+        assertEquals(30, reversed.max, 0);
+    }
+
+    @Test
+    public void lowerBounds() {
+        RangeQuery over = RangeQuery.parse("over 30 minutes");
+        assertEquals(RangeQuery.Kind.TIME, over.kind);
+        assertEquals(30, over.min, 0);
+        assertFalse(over.minInclusive);
+        assertFalse(over.hasUpperBound());
+        assertEquals("in over 30 minutes", over.describe());
+
+        RangeQuery atLeast = RangeQuery.parse("at least $25");
+        assertEquals(RangeQuery.Kind.PRICE, atLeast.kind);
+        assertEquals(25, atLeast.min, 0);
+        assertTrue(atLeast.minInclusive);
+        assertEquals("from $25", atLeast.describe());
+    }
+
+    @Test
+    public void vagueNumbersAreNotRanges() {
+        assertNull(RangeQuery.parse("table for 2 in 2 hours"));
+        assertNull(RangeQuery.parse("in 2"));
+        assertNull(RangeQuery.parse("2 to 3 pizzas"));
+        assertNull(RangeQuery.parse("hello"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.foodorder.service;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpellingIndexTest {
+
+    @Test
+    public void levenshteinCountsInsertionsDeletionsAndSubstitutions() {
+        assertEquals(0, SpellingIndex.levenshtein("pizza", "pizza"));
+        assertEquals(1, SpellingIndex.levenshtein("piza", "pizza"));
+        assertEquals(1, SpellingIndex.levenshtein("pizzza", "pizza"));
+        assertEquals(1, SpellingIndex.levenshtein("pizze", "pizza"));
+        assertEquals(2, SpellingIndex.levenshtein("margarita", "margherita"));
+        assertEquals(3, SpellingIndex.levenshtein("", "ham"));
+        assertEquals(3, SpellingIndex.levenshtein("kitten", "sitting"));
+    }
+
+    @Test
+    public void shortWordsTolerateFewerTypos() {
+        assertEquals(0, SpellingIndex.maxTypos("ham"));
+        assertEquals(1, SpellingIndex.maxTypos("sushi"));
+        assertEquals(2, SpellingIndex.maxTypos("chicken"));
+
+        SpellingIndex index = SpellingIndex.build(setOf("ham", "sushi", "chicken"));
+        assertTrue(index.search("jam").isEmpty());
+        assertEquals(setOf("sushi"), wordsOf(index.search("sushy")));
+        assertTrue(index.search("sishy").isEmpty());
+        assertEquals(setOf("chicken"), wordsOf(index.search("chiken")));
+        // Two typos away, but "chikn" is only five letters long and tolerates one
+        assertTrue(index.search("chikn").isEmpty());
+    }
+
+    @Test
+    public void searchAgreesWithLinearScan() {
+        Random random = new Random(7);
+        Set<String> vocabulary = new HashSet<>();
+        while (vocabulary.size() < 500) {
+            vocabulary.add(randomWord(random));
+        }
+        SpellingIndex index = SpellingIndex.build(vocabulary);
+
+        List<String> queries = new ArrayList<>(vocabulary);
+        for (int i = 0; i < 1000; i++) {
+            queries.add(randomWord(random));
+        }
+        for (String query : queries) {
+            TreeMap<String, Integer> expected = new TreeMap<>();
+            for (String word : vocabulary) {
+                int distance = SpellingIndex.levenshtein(query, word);
+                if (distance <= Math.min(SpellingIndex.maxTypos(query), SpellingIndex.maxTypos(word))) {
+                    expected.put(word, distance);
+                }
+            }
+            TreeMap<String, Integer> actual = new TreeMap<>();
+            for (SpellingIndex.WordMatch match : index.search(query)) {
+                actual.put(match.word, match.distance);
+            }
+            assertEquals(query, expected, actual);
+        }
+    }
+
+    // Small alphabet, so random words are often within a typo or two of each other
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 2 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append("abcd".charAt(random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static Set<String> setOf(String... words) {
+        Set<String> set = new HashSet<>();
+        for (String word : words) {
+            set.add(word);
+        }
+        return set;
+    }
+
+    private static Set<String> wordsOf(List<SpellingIndex.WordMatch> matches) {
+        Set<String> words = new HashSet<>();
+        for (SpellingIndex.WordMatch match : matches) {
+            words.add(match.word);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.foodorder.service;
+
+import com.example.foodorder.model.Category;
+import com.example.foodorder.model.Food;
+import com.example.foodorder.model.Location;
+import com.example.foodorder.model.ValueRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The menu from assets/database.json as a {@link CatalogSnapshot}, for tests of the chatbot indexes.
+ */
+final class TestCatalog {
+    static final String[] CATEGORIES = {"Pizza", "Burger", "Chicken", "Sushi", "Meat", "Hotdog", "Drink", "More"};
+
+    // Name, description, ingredients, category id, price, minutes, location id, best food
+    private static final Object[][] FOODS = {
+            {"Margherita Pizza", "Classic Italian pizza with fresh mozzarella, tomatoes, and basil", "Pizza dough, Tomato sauce, Fresh mozzarella, Basil, Olive oil", 0, 12.99, 20, 0, true},
+            {"Pepperoni Pizza", "Classic pizza topped with pepperoni and melted cheese", "Pizza dough, Tomato sauce, Mozzarella, Pepperoni", 0, 14.99, 20, 0, true},
+            {"Veggie Extravaganza", "Healthy pizza loaded with fresh vegetables", "Pizza dough, Tomato sauce, Bell peppers, Mushrooms, Onions, Olives, Tomatoes", 0, 13.99, 25, 1, false},
+            {"Cheeseburger Deluxe", "Juicy beef patty with cheddar cheese, lettuce, tomato, and special sauce", "Beef patty, Cheddar cheese, Lettuce, Tomato, Pickles, Special sauce, Sesame bun", 1, 9.99, 8, 0, true},
+            {"Bacon Burger", "Classic burger with crispy bacon and melted cheese", "Beef patty, Bacon, American cheese, Lettuce, Tomato, Mayo, Brioche bun", 1, 11.99, 10, 1, true},
+            {"Veggie Burger", "Healthy plant-based burger with fresh vegetables", "Veggie patty, Lettuce, Tomato, Avocado, Onions, Whole wheat bun", 1, 10.99, 12, 0, false},
+            {"Grilled Chicken Breast", "Tender grilled chicken breast seasoned to perfection", "Chicken breast, Olive oil, Garlic, Herbs, Lemon", 2, 15.99, 18, 0, true},
+            {"Chicken Wings", "Crispy chicken wings with your choice of sauce", "Chicken wings, Flour, Hot sauce, Butter, Seasonings", 2, 8.99, 15, 1, false},
+            {"Chicken Nuggets", "Crispy breaded chicken nuggets - fast and delicious", "Chicken breast, Breadcrumbs, Flour, Eggs, Seasonings", 2, 6.99, 5, 0, false},
+            {"California Roll", "Fresh sushi roll with crab, avocado, and cucumber", "Sushi rice, Nori, Crab stick, Avocado, Cucumber, Sesame seeds", 3, 8.99, 10, 1, true},
+            {"Salmon Nigiri", "Fresh salmon over seasoned sushi rice", "Fresh salmon, Sushi rice, Wasabi, Soy sauce", 3, 12.99, 8, 1, true},
+            {"Veggie Roll", "Healthy sushi roll with fresh vegetables", "Sushi rice, Nori, Cucumber, Avocado, Carrot, Bell pepper", 3, 7.99, 10, 1, false},
+            {"Ribeye Steak", "Premium cut ribeye steak grilled to perfection", "Ribeye steak, Salt, Black pepper, Garlic, Butter", 4, 35.99, 25, 0, true},
+            {"BBQ Ribs", "Tender pork ribs with homemade BBQ sauce", "Pork ribs, BBQ sauce, Brown sugar, Paprika, Garlic powder", 4, 24.99, 45, 1, true},
+            {"Classic Hotdog", "All-American hotdog with your favorite toppings", "Beef hotdog, Hotdog bun, Mustard, Ketchup, Onions, Relish", 5, 5.99, 5, 0, false},
+            {"Chili Cheese Dog", "Hotdog topped with chili and melted cheese", "Beef hotdog, Hotdog bun, Chili, Cheddar cheese, Onions", 5, 7.99, 8, 1, false},
+            {"Fresh Orange Juice", "Freshly squeezed orange juice", "Fresh oranges", 6, 4.99, 3, 0, false},
+            {"Iced Coffee", "Refreshing cold brewed coffee over ice", "Cold brew coffee, Ice, Milk, Sugar", 6, 3.99, 2, 1, false},
+            {"Smoothie Bowl", "Healthy acai smoothie bowl with fresh fruits", "Acai, Banana, Berries, Granola, Honey", 6, 9.99, 8, 0, true},
+            {"Caesar Salad", "Fresh romaine lettuce with Caesar dressing and croutons", "Romaine lettuce, Parmesan cheese, Croutons, Caesar dressing", 7, 7.99, 10, 0, false},
+            {"Quinoa Salad Bowl", "Nutritious quinoa with fresh vegetables and vinaigrette", "Quinoa, Chickpeas, Cucumber, Tomatoes, Feta cheese, Lemon vinaigrette", 7, 10.99, 12, 1, true},
+            {"Vegetarian Pad Thai", "Traditional Thai noodles with vegetables and peanuts", "Rice noodles, Tofu, Bean sprouts, Peanuts, Eggs, Tamarind sauce", 7, 11.99, 15, 1, false},
+            {"French Fries", "Crispy golden french fries", "Potatoes, Oil, Salt", 7, 3.99, 5, 0, false},
+            {"Onion Rings", "Crispy breaded onion rings", "Onions, Flour, Breadcrumbs, Buttermilk, Seasonings", 7, 4.99, 7, 1, false}
+    };
+
+    private TestCatalog() {
+    }
+
+    static CatalogSnapshot snapshot() {
+        return snapshot(foods());
+    }
+
+    static CatalogSnapshot snapshot(List<Food> foods) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            categories.add(new Category(i, CATEGORIES[i]));
+        }
+        List<Location> locations = Arrays.asList(
+                new Location(0, "LA California", "123 Hollywood Blvd, Los Angeles, CA 90028", "", ""),
+                new Location(1, "NY Manhattan", "", "", ""));
+        List<ValueRange> priceRanges = Arrays.asList(new ValueRange(0, "$1-$10", 1, 10),
+                new ValueRange(1, "$10-$30", 10, 30), new ValueRange(2, "More than $30", 30, 999));
+        List<ValueRange> timeRanges = Arrays.asList(new ValueRange(0, "0-10 min", 0, 10),
+                new ValueRange(1, "10-30 min", 10, 30), new ValueRange(2, "More than 30 min", 30, 999));
+        return new CatalogSnapshot(1, 1, foods, categories, locations, priceRanges, timeRanges);
+    }
+
+    static List<Food> foods() {
+        List<Food> foods = new ArrayList<>();
+        for (int i = 0; i < FOODS.length; i++) {
+            Object[] row = FOODS[i];
+            // Ids shifted by one, as in the prepackaged database
+            foods.add(food(i + 1, (String) row[0], (String) row[1], (String) row[2], (Integer) row[3],
+                    (Double) row[4], (Integer) row[5], (Integer) row[6], (Boolean) row[7]));
+        }
+        return foods;
+    }
+
+    static Food food(int id, String name, String description, String ingredients, int categoryId,
+                     double price, int minutes, int locationId, boolean bestFood) {
+        Food food = new Food(name, description, price, "", CATEGORIES[categoryId], ingredients);
+        food.setId(id);
+        food.setCategoryId(categoryId);
+        food.setTimeValue(minutes);
+        food.setLocationId(locationId);
+        food.setBestFood(bestFood);
+        food.setAvailable(true);
+        return food;
+    }
+}